@@ -3,9 +3,11 @@ package com.article.backend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
 @EnableJpaRepositories
+@EnableScheduling
 @EnableWebMvc
 @SpringBootApplication
 public class BackendApplication {
@@ -0,0 +1,94 @@
+package com.article.backend.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// remembers the successful password checks for a while, so a client sending the same basic credentials
+// with every request pays the bcrypt cost once per time to live instead of on every request
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+    private final long timeToLiveMillis;
+    private final Clock clock;
+
+    // the raw password is never kept, only a keyed digest of it together with the stored hash,
+    // the key lives in this process only so the digests cannot be checked against guesses elsewhere
+    private final SecretKeySpec key;
+
+    // digest -> expiry, in insertion order so the oldest check is dropped first when full
+    private final Map<String, Long> verified;
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, Duration timeToLive, int maxSize, Clock clock) {
+        this.delegate = delegate;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        this.key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        this.verified = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    // keyed by the stored hash as well, a changed password never matches an earlier check
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        String digest = digest(rawPassword, encodedPassword);
+        long now = clock.millis();
+        synchronized (verified) {
+            Long expiry = verified.get(digest);
+            if (expiry != null && expiry > now) {
+                return true;
+            }
+            verified.remove(digest);
+        }
+        // only the successful checks are remembered, a wrong password always costs a full check
+        if (!delegate.matches(rawPassword, encodedPassword)) {
+            return false;
+        }
+        synchronized (verified) {
+            verified.put(digest, now + timeToLiveMillis);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String digest(CharSequence rawPassword, String encodedPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available.", e);
+        }
+    }
+}
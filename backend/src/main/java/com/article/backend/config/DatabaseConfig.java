@@ -0,0 +1,50 @@
+package com.article.backend.config;
+
+import com.article.backend.util.Bulkhead;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class DatabaseConfig {
+
+    @Bean
+    public Bulkhead databaseBulkhead(@Value("${article.bulkhead.database.permits}") int permits,
+                                     @Value("${article.bulkhead.database.wait-timeout}") Duration waitTimeout) {
+        return new Bulkhead(permits, waitTimeout, "The database is busy, please try again later.");
+    }
+
+    // the jcache region factory of application.properties, the reads of the replicas are not put into the cache
+    @Bean
+    public HibernatePropertiesCustomizer replicaAwareRegionFactory(ObjectProvider<ReadReplicas> readReplicas) {
+        return properties -> readReplicas.ifAvailable(replicas ->
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, new ReplicaAwareRegionFactory(replicas)));
+    }
+
+    // static, the post processor is created before the other beans of this configuration, the bulkhead and the
+    // read replicas are looked up only for the data source so they are created as regular, fully processed beans,
+    // the read replicas are there only when they are enabled, their pools are not beans and are not post processed
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(
+            @Qualifier("databaseBulkhead") ObjectProvider<Bulkhead> bulkhead, ObjectProvider<ReadReplicas> readReplicas) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    ReadReplicas replicas = readReplicas.getIfAvailable();
+                    DataSource routed = replicas != null ? replicas.route(dataSource) : dataSource;
+                    return new BulkheadDataSource(new SqlStatisticsDataSource(routed), bulkhead.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
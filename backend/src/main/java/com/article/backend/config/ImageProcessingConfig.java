@@ -0,0 +1,55 @@
+package com.article.backend.config;
+
+import com.article.backend.util.Bulkhead;
+import com.article.backend.util.MemoryLimit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ImageProcessingConfig {
+
+    // shared by all uploads, a full queue runs the work on the request thread and so slows down the busiest requests
+    @Bean
+    public ThreadPoolTaskExecutor imageIngestExecutor(@Value("${article.image.ingest.pool-size}") int poolSize,
+                                                      @Value("${article.image.ingest.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-ingest-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    // a full queue rejects new work instead of blocking the upload that submitted it
+    @Bean
+    public ThreadPoolTaskExecutor imageVariantExecutor(@Value("${article.image.variant.pool-size}") int poolSize,
+                                                       @Value("${article.image.variant.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-variant-");
+        return executor;
+    }
+
+    // uploads read and re-encoded and originals scaled at the same time, by the request, ingest and variant threads together
+    @Bean
+    public Bulkhead imageBulkhead(@Value("${article.bulkhead.image.permits}") int permits,
+                                  @Value("${article.bulkhead.image.wait-timeout}") Duration waitTimeout) {
+        return new Bulkhead(permits, waitTimeout, "Too many images are being processed, please try again later.");
+    }
+
+    // the uploads held by the requests and the images decoded by the ingest and the variant threads together
+    @Bean
+    public MemoryLimit imageMemoryLimit(@Value("${article.image.ingest.memory-limit}") DataSize limit,
+                                       @Value("${article.image.ingest.memory-wait-timeout}") Duration waitTimeout) {
+        return new MemoryLimit(limit.toBytes(), waitTimeout, "Too many images are being uploaded, please try again later.");
+    }
+}
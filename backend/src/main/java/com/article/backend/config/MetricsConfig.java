@@ -0,0 +1,38 @@
+package com.article.backend.config;
+
+import com.article.backend.util.Bulkhead;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class MetricsConfig {
+
+    // records the methods of the classes annotated with @Timed, tagged with the class and the method name
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // a bulkhead without available permits and with waiting threads is saturated, the connection pool behind the
+    // database bulkhead has its own gauges under hikaricp
+    @Bean
+    public MeterBinder bulkheadMetrics(Map<String, Bulkhead> bulkheads) {
+        return meterRegistry -> bulkheads.forEach((beanName, bulkhead) -> {
+            String name = beanName.replace("Bulkhead", "");
+            Gauge.builder("article.bulkhead.available", bulkhead, Bulkhead::availablePermits)
+                    .description("Permits of the bulkhead not in use")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("article.bulkhead.waiting", bulkhead, Bulkhead::waitingThreads)
+                    .description("Threads waiting for a permit of the bulkhead")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+        });
+    }
+}
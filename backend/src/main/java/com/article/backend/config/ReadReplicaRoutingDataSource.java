@@ -0,0 +1,188 @@
+package com.article.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// read-only transactions get a connection of a replica, round robin, everything else a connection of the primary,
+// the transaction has to be started before the connection is taken, see LazyConnectionDataSourceProxy
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    // the expired pins are removed above this many users
+    private static final int MAX_PINNED_USERS = 10000;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final boolean fallbackToPrimary;
+    private final Duration failureBackoff;
+    private final Duration readYourWritesPin;
+    private final Supplier<String> currentUser;
+    private final Clock clock;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    // the users reading from the primary until the time, their own writes may not have reached the replicas yet
+    private final Map<String, Instant> pinnedUntil = new ConcurrentHashMap<>();
+
+    // true while the after commit callbacks of a write run, e.g. the search index reading back the changed articles
+    private final ThreadLocal<Boolean> committingWrite = new ThreadLocal<>();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, boolean fallbackToPrimary,
+                                        Duration failureBackoff, Duration readYourWritesPin, Supplier<String> currentUser,
+                                        Clock clock) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>();
+        for (DataSource replica : replicas) {
+            this.replicas.add(new Replica(this.replicas.size() + 1, replica));
+        }
+        this.fallbackToPrimary = fallbackToPrimary;
+        this.failureBackoff = failureBackoff;
+        this.readYourWritesPin = readYourWritesPin;
+        this.currentUser = currentUser;
+        this.clock = clock;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return getReadConnection();
+        }
+        pinAfterCommit();
+        return primary.getConnection();
+    }
+
+    // explicit credentials are the ones of the primary, the replicas use their own
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinAfterCommit();
+        }
+        return primary.getConnection(username, password);
+    }
+
+    // the connection pool metrics and health are looked up on the primary
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    // whether a transaction is meant to read from a replica, it reads from the primary when every replica is down
+    public boolean readsFromReplica(boolean readOnly) {
+        if (!readOnly || committingWrite.get() != null) {
+            return false;
+        }
+        String user = currentUser.get();
+        return user == null || !isPinned(user);
+    }
+
+    private Connection getReadConnection() throws SQLException {
+        if (!readsFromReplica(true)) {
+            return primary.getConnection();
+        }
+
+        // a replica failing to give a connection is skipped until its backoff ends
+        int first = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        SQLException failure = null;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((first + i) % replicas.size());
+            if (replica.downUntil != null && clock.instant().isBefore(replica.downUntil)) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.downUntil = clock.instant().plus(failureBackoff);
+                log.warn("Read replica {} is skipped for {}: {}", replica.number, failureBackoff, e.getMessage());
+                failure = e;
+            }
+        }
+        if (!fallbackToPrimary) {
+            throw failure != null ? failure : new SQLException("Every read replica is unavailable.");
+        }
+        return primary.getConnection();
+    }
+
+    private boolean isPinned(String user) {
+        Instant until = pinnedUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (clock.instant().isBefore(until)) {
+            return true;
+        }
+        pinnedUntil.remove(user, until);
+        return false;
+    }
+
+    // the pin starts when the write transaction is committed, the connections outside of transactions are the reads
+    // of the repositories without a read-only transaction, they do not pin, the synchronization runs first so that
+    // the other after commit callbacks read from the primary already
+    private void pinAfterCommit() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        String user = currentUser.get();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                committingWrite.set(true);
+                pin(user);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                committingWrite.remove();
+            }
+        });
+    }
+
+    private void pin(String user) {
+        if (user == null || readYourWritesPin.isZero()) {
+            return;
+        }
+        Instant now = clock.instant();
+        pinnedUntil.put(user, now.plus(readYourWritesPin));
+        if (pinnedUntil.size() > MAX_PINNED_USERS) {
+            pinnedUntil.values().removeIf(until -> !now.isBefore(until));
+        }
+    }
+
+    private static class Replica {
+        private final int number;
+        private final DataSource dataSource;
+        private volatile Instant downUntil;
+
+        private Replica(int number, DataSource dataSource) {
+            this.number = number;
+            this.dataSource = dataSource;
+        }
+    }
+}
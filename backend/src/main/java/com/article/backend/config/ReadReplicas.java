@@ -0,0 +1,102 @@
+package com.article.backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// the connection pools of the read replicas, the primary data source is routed to them by DatabaseConfig
+@Component
+@ConditionalOnProperty(name = "article.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicas {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final boolean fallbackToPrimary;
+    private final Duration failureBackoff;
+    private final Duration readYourWritesPin;
+    private volatile ReadReplicaRoutingDataSource routingDataSource;
+
+    public ReadReplicas(@Value("${article.datasource.replica.urls}") List<String> urls,
+                        @Value("${article.datasource.replica.username}") String username,
+                        @Value("${article.datasource.replica.password}") String password,
+                        @Value("${spring.datasource.driver-class-name}") String driverClassName,
+                        @Value("${article.datasource.replica.maximum-pool-size}") int maximumPoolSize,
+                        @Value("${article.datasource.replica.connection-timeout}") Duration connectionTimeout,
+                        @Value("${article.datasource.replica.fallback-to-primary}") boolean fallbackToPrimary,
+                        @Value("${article.datasource.replica.failure-backoff}") Duration failureBackoff,
+                        @Value("${article.datasource.replica.read-your-writes-pin}") Duration readYourWritesPin,
+                        ObjectProvider<MeterRegistry> meterRegistry) {
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("article.datasource.replica.urls has to list at least one replica.");
+        }
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (pools.size() + 1));
+            config.setJdbcUrl(withCursorFetch(url));
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setDriverClassName(driverClassName);
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setReadOnly(true);
+            // an unreachable replica must not stop the application from starting, it is skipped until it is back
+            config.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            pools.add(new HikariDataSource(config));
+        }
+        this.fallbackToPrimary = fallbackToPrimary;
+        this.failureBackoff = failureBackoff;
+        this.readYourWritesPin = readYourWritesPin;
+    }
+
+    // the physical connection is taken at the first statement, the read-only flag of the transaction is known by then
+    public DataSource route(DataSource primary) {
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, List.copyOf(pools), fallbackToPrimary,
+                failureBackoff, readYourWritesPin, ReadReplicas::currentUser, Clock.systemUTC());
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // whether the current transaction reads from a replica, its reads are not put into the second level cache
+    public boolean readsFromReplica() {
+        return routingDataSource != null
+                && routingDataSource.readsFromReplica(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    @PreDestroy
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    // the ndjson export is a read-only transaction, it streams from the replica through a server side cursor like on
+    // the primary, the mysql driver reads the whole result into memory without useCursorFetch
+    private static String withCursorFetch(String url) {
+        if (!url.startsWith("jdbc:mysql:") || url.contains("useCursorFetch=")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + "useCursorFetch=true";
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,84 @@
+package com.article.backend.config;
+
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+// the entities and query results read from a replica are not put into the second level cache, a lagging replica
+// would put back the rows of before a write and every user would be served them until the time to live ends,
+// the cached entries are still read and the transactions on the primary keep the cache filled,
+// the puts are skipped here as hibernate puts the query results of a cache miss even with CacheMode.GET
+public class ReplicaAwareRegionFactory extends JCacheRegionFactory {
+
+    private final ReadReplicas readReplicas;
+
+    public ReplicaAwareRegionFactory(ReadReplicas readReplicas) {
+        this.readReplicas = readReplicas;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return new ReplicaAwareStorageAccess(super.createDomainDataStorageAccess(regionConfig, buildingContext));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return new ReplicaAwareStorageAccess(super.createQueryResultsRegionStorageAccess(regionName, sessionFactory));
+    }
+
+    private class ReplicaAwareStorageAccess implements DomainDataStorageAccess {
+
+        private final StorageAccess delegate;
+
+        private ReplicaAwareStorageAccess(StorageAccess delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return delegate.getFromCache(key, session);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            if (!readReplicas.readsFromReplica()) {
+                delegate.putIntoCache(key, value, session);
+            }
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            delegate.removeFromCache(key, session);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            delegate.clearCache(session);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return delegate.contains(key);
+        }
+
+        @Override
+        public void evictData() {
+            delegate.evictData();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            delegate.evictData(key);
+        }
+
+        @Override
+        public void release() {
+            delegate.release();
+        }
+    }
+}
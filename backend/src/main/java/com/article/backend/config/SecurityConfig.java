@@ -1,7 +1,10 @@
 package com.article.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -15,6 +18,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Clock;
+import java.time.Duration;
+
 @Configuration
 @EnableMethodSecurity
 @EnableWebSecurity
@@ -29,9 +35,16 @@ public class SecurityConfig {
             "/v3/api-docs/**"
     };
 
+    @Value("${article.security.credential-cache.time-to-live}")
+    private Duration credentialCacheTimeToLive;
+
+    @Value("${article.security.credential-cache.max-size}")
+    private int credentialCacheMaxSize;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new CachingPasswordEncoder(new BCryptPasswordEncoder(), credentialCacheTimeToLive, credentialCacheMaxSize,
+                Clock.systemUTC());
     }
 
     @Bean
@@ -61,6 +74,8 @@ public class SecurityConfig {
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable).authorizeHttpRequests(authorize ->
                 authorize.requestMatchers(excludedPages).permitAll()
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                .requestMatchers(HttpMethod.GET, "/image/*").permitAll()
                 .anyRequest().authenticated())
                 .formLogin(Customizer.withDefaults())
                 .logout(Customizer.withDefaults())
@@ -0,0 +1,85 @@
+package com.article.backend.config;
+
+import com.article.backend.util.SqlStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// collects the statements of every request, records them per endpoint and logs the requests over the budget,
+// the statements of a streamed response run after the request thread returned and are not counted
+@Component
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    @Value("${article.sql.budget.statements}")
+    private int statementBudget;
+
+    @Value("${article.sql.budget.repeated-statements}")
+    private int repeatedStatementBudget;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.start();
+        request.setAttribute(SqlStatistics.REQUEST_ATTRIBUTE, statistics);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatistics.stop();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        // the uri template of the handler keeps the tag values few, the same way as http.server.requests
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("article.sql.statements")
+                .description("Statements executed by a request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getStatementCount());
+        DistributionSummary.builder("article.sql.rows")
+                .description("Rows read by a request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getRowCount());
+        Timer.builder("article.sql.time")
+                .description("Time a request spent executing statements")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getJdbcTime().toNanos(), TimeUnit.NANOSECONDS);
+
+        if (statistics.getStatementCount() > statementBudget) {
+            log.warn("{} {} executed {} statements in {} ms and read {} rows, the budget is {} statements", method,
+                    request.getRequestURI(), statistics.getStatementCount(), statistics.getJdbcTime().toMillis(),
+                    statistics.getRowCount(), statementBudget);
+        }
+        Map.Entry<String, Integer> mostRepeated = statistics.getMostRepeatedStatement();
+        if (mostRepeated != null && mostRepeated.getValue() > repeatedStatementBudget) {
+            log.warn("{} {} executed the same statement {} times, possibly an N+1 query: {}", method,
+                    request.getRequestURI(), mostRepeated.getValue(), mostRepeated.getKey());
+        }
+    }
+}
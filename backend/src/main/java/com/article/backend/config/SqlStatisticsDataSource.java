@@ -0,0 +1,102 @@
+package com.article.backend.config;
+
+import com.article.backend.util.SqlStatistics;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+// counts the statements executed through the connections, their execution time and the rows read from their results
+// into the SqlStatistics of the current thread, JdbcTemplate statements included, nothing is counted without one
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTIONS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch");
+
+    public SqlStatisticsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (STATEMENT_FACTORIES.contains(method.getName())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String preparedSql ? preparedSql : null;
+                return countingExecutions(method.getReturnType(), (Statement) result, sql);
+            }
+            return result;
+        });
+    }
+
+    // the statement is proxied by the interface it was asked for, Statement, PreparedStatement or CallableStatement
+    private Object countingExecutions(Class<?> statementType, Statement statement, String preparedSql) {
+        return proxy(statementType, statement, (method, args) -> {
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics == null) {
+                return invoke(statement, method, args);
+            }
+            if (EXECUTIONS.contains(method.getName())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String executedSql ? executedSql : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    return countingRows(invoke(statement, method, args), statistics);
+                } finally {
+                    statistics.recordExecution(sql, System.nanoTime() - start);
+                }
+            }
+            if ("getResultSet".equals(method.getName())) {
+                return countingRows(invoke(statement, method, args), statistics);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private Object countingRows(Object result, SqlStatistics statistics) {
+        if (!(result instanceof ResultSet resultSet)) {
+            return result;
+        }
+        return proxy(ResultSet.class, resultSet, (method, args) -> {
+            Object next = invoke(resultSet, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(next)) {
+                statistics.recordRow();
+            }
+            return next;
+        });
+    }
+
+    private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, Object target, Invocation invocation) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> invocation.invoke(method, args));
+    }
+
+    private interface Invocation {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+}
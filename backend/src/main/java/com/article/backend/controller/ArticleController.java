@@ -1,13 +1,22 @@
 package com.article.backend.controller;
 
 import com.article.backend.model.Article;
-import com.article.backend.model.ArticleImage;
-import com.article.backend.model.ArticleTag;
-import com.article.backend.model.ReducedArticleResult;
+import com.article.backend.model.ArticleSummary;
+import com.article.backend.model.ArticleVersion;
+import com.article.backend.model.BulkStatusUpdateRequest;
+import com.article.backend.model.CursorPage;
+import com.article.backend.model.ImageUploads;
+import com.article.backend.model.StatusUpdateResult;
+import com.article.backend.model.Versioned;
 import com.article.backend.model.enums.ArticleCategory;
 import com.article.backend.model.enums.ArticleStatus;
 import com.article.backend.service.ArticleService;
-import com.article.backend.util.FileToBase64Utils;
+import com.article.backend.service.ImageIngestService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import jakarta.validation.ValidationException;
@@ -16,21 +25,47 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/article")
 public class ArticleController {
 
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_SIZE = 1000;
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     @Autowired
     private ArticleService articleService;
 
+    @Autowired
+    private ImageIngestService imageIngestService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // the lines are flushed by the response buffer, not one by one
+    private ObjectWriter exportWriter;
+
+    @PostConstruct
+    public void init() {
+        exportWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
     @PreAuthorize("hasRole('JOURNALIST')")
     @PostMapping(consumes = {MediaType.MULTIPART_FORM_DATA_VALUE})
     public ResponseEntity<Article> saveArticle(@RequestPart @Valid Article article,
@@ -51,17 +86,12 @@ public class ArticleController {
             });
         }
 
-        if (files != null && files.length > 0) {
-            article.setImages(new ArrayList<>());
-            for (MultipartFile file : files) {
-                ArticleImage newArticleImage = new ArticleImage();
-                newArticleImage.setArticle(article);
-                newArticleImage.setName(file.getOriginalFilename());
-                newArticleImage.setImage(FileToBase64Utils.getBase64ImageFromFile(file));
-                article.getImages().add(newArticleImage);
-            }
+        if (files == null || files.length == 0) {
+            return ResponseEntity.ok(articleService.saveArticle(article, List.of()));
+        }
+        try (ImageUploads images = imageIngestService.readUploads(files)) {
+            return ResponseEntity.ok(articleService.saveArticle(article, images.getUploads()));
         }
-        return ResponseEntity.ok(articleService.saveArticle(article));
     }
 
     @PreAuthorize("hasRole('JOURNALIST')")
@@ -78,7 +108,7 @@ public class ArticleController {
         existingArticle.setTitle(article.getTitle());
         existingArticle.setSubTitle(article.getSubTitle());
         existingArticle.setContent(article.getContent());
-        return ResponseEntity.ok(articleService.saveArticle(article));
+        return ResponseEntity.ok(articleService.saveArticle(existingArticle));
     }
 
     @PreAuthorize("hasRole('EDITOR_IN_CHIEF')")
@@ -99,26 +129,102 @@ public class ArticleController {
         return ResponseEntity.ok(articleService.getArticleById(id));
     }
 
+    @PreAuthorize("hasRole('EDITOR_IN_CHIEF')")
+    @PutMapping("/update-status/bulk")
+    public ResponseEntity<List<StatusUpdateResult>> updateStatuses(@RequestBody @Valid BulkStatusUpdateRequest request) {
+        if (!CollectionUtils.isEmpty(request.getIds())) {
+            if (request.getIds().size() > MAX_BULK_SIZE) {
+                throw new ValidationException("At most " + MAX_BULK_SIZE + " ids can be given.");
+            }
+            return ResponseEntity.ok(articleService.updateStatus(request.getIds(), request.getCurrentStatus(),
+                    request.getCategory(), request.getStatus()));
+        }
+        if (request.getCurrentStatus() == null) {
+            throw new ValidationException("The ids or the current status is required.");
+        }
+        return ResponseEntity.ok(articleService.updateStatus(request.getCurrentStatus(), request.getCategory(),
+                request.getStatus(), MAX_BULK_SIZE));
+    }
+
+    // the ETag and Last-Modified come from the version of the article, a conditional request is answered without loading it
     @GetMapping("/approved-article")
-    public ResponseEntity<Article> getApprovedArticle(@RequestParam Long id) {
-        return ResponseEntity.ok(articleService.getArticleByIdAndStatus(id, ArticleStatus.APPROVED));
+    public ResponseEntity<Article> getApprovedArticle(@RequestParam Long id, WebRequest request) {
+        Versioned<ArticleVersion, Article> article = articleService.getArticleIfModified(id, ArticleStatus.APPROVED,
+                version -> !request.checkNotModified(eTag(version), version.getUpdatedAt().toEpochMilli()));
+        if (article == null) {
+            return ResponseEntity.ok(null);
+        }
+        if (article.getContent() == null) {
+            // the 304 status and the validators are already set on the response
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag(article.getVersion()))
+                .lastModified(article.getVersion().getUpdatedAt())
+                .body(article.getContent());
     }
 
     @GetMapping("/all-approved")
-    public ResponseEntity<List<Article>> listApprovedArticles() {
-        return ResponseEntity.ok(articleService.listArticlesByStatus(ArticleStatus.APPROVED));
+    public ResponseEntity<CursorPage<ArticleSummary>> listApprovedArticles(@RequestParam(required = false) String cursor,
+                                                                           @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+                                                                           WebRequest request) {
+        validateLimit(limit);
+        Versioned<CursorPage<ArticleVersion>, CursorPage<ArticleSummary>> page = articleService.listArticlesByStatusIfModified(
+                ArticleStatus.APPROVED, cursor, limit, versions -> {
+                    Instant lastModified = lastModified(versions);
+                    return lastModified != null ?
+                            !request.checkNotModified(eTag(versions), lastModified.toEpochMilli()) :
+                            !request.checkNotModified(eTag(versions));
+                });
+        if (page.getContent() == null) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag(page.getVersion()));
+        Instant lastModified = lastModified(page.getVersion());
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+        return response.body(page.getContent());
     }
 
     @PreAuthorize("hasRole('EDITOR_IN_CHIEF')")
     @GetMapping("/all")
-    public ResponseEntity<List<Article>> listArticles(@RequestParam(required = false) ArticleStatus status) {
-        return ResponseEntity.ok(status != null ? articleService.listArticlesByStatus(status) : articleService.listArticles());
+    public ResponseEntity<CursorPage<ArticleSummary>> listArticles(@RequestParam(required = false) ArticleStatus status,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        validateLimit(limit);
+        return ResponseEntity.ok(status != null ?
+                articleService.listArticlesByStatus(status, cursor, limit) :
+                articleService.listArticles(cursor, limit));
+    }
+
+    // every article in one response, one json line each, written while the rows are read
+    @PreAuthorize("hasRole('EDITOR_IN_CHIEF')")
+    @GetMapping(value = "/all", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportArticles(@RequestParam(required = false) ArticleStatus status) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // the articles are separated by new lines instead of the default space
+                generator.setRootValueSeparator(null);
+                articleService.exportArticles(status, article -> {
+                    try {
+                        exportWriter.writeValue(generator, article);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ReducedArticleResult>> search(@RequestParam(required = false) ArticleCategory category,
-                                                             @RequestParam(required = false) String title,
-                                                             @RequestParam(required = false) String tag) {
+    public ResponseEntity<List<?>> search(@RequestParam(required = false) ArticleCategory category,
+                                          @RequestParam(required = false) String title,
+                                          @RequestParam(required = false) String tag,
+                                          @RequestParam(required = false) List<String> fields,
+                                          @RequestParam(required = false) String q) {
         String requestedTag = null;
         if (StringUtils.hasText(tag)) {
             if (!tag.startsWith("#")) {
@@ -127,20 +233,16 @@ public class ArticleController {
             requestedTag = org.apache.commons.lang3.StringUtils.deleteWhitespace(tag);
         }
 
-        List<Article> articles = articleService.findAll(title, category, ArticleStatus.APPROVED, requestedTag);
+        if (StringUtils.hasText(q)) {
+            return CollectionUtils.isEmpty(fields) ?
+                    ResponseEntity.ok(articleService.fullTextSearch(q, title, category, requestedTag)) :
+                    ResponseEntity.ok(articleService.fullTextSearch(q, title, category, requestedTag, fields));
+        }
 
-        if (CollectionUtils.isEmpty(articles)) {
-            return ResponseEntity.ok(Collections.emptyList());
+        if (CollectionUtils.isEmpty(fields)) {
+            return ResponseEntity.ok(articleService.search(title, category, ArticleStatus.APPROVED, requestedTag));
         }
-        return ResponseEntity.ok(articles.stream().map(article -> {
-            ArticleTag existingTag = StringUtils.hasText(tag) && !CollectionUtils.isEmpty(article.getTags()) ?
-                    article.getTags()
-                            .stream()
-                            .filter(articleTag -> articleTag.getTag().equals(tag))
-                            .findFirst()
-                            .orElse(null) : null;
-            return new ReducedArticleResult(article.getId(), article.getTitle(), article.getSubTitle(), article.getCategory(), existingTag);
-        }).toList());
+        return ResponseEntity.ok(articleService.search(title, category, ArticleStatus.APPROVED, requestedTag, fields));
     }
 
     @PreAuthorize("hasRole('JOURNALIST')")
@@ -153,4 +255,29 @@ public class ArticleController {
         articleService.deleteById(id);
         return ResponseEntity.ok().build();
     }
+
+    private String eTag(ArticleVersion version) {
+        return version.getId() + "-" + version.getVersion();
+    }
+
+    // a page changes when any of its articles changes, or when articles are added or removed
+    private String eTag(CursorPage<ArticleVersion> versions) {
+        String pageVersion = versions.getItems().stream()
+                .map(this::eTag)
+                .collect(Collectors.joining(",", "", ";" + versions.getNextCursor()));
+        return DigestUtils.md5DigestAsHex(pageVersion.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Instant lastModified(CursorPage<ArticleVersion> versions) {
+        return versions.getItems().stream()
+                .map(ArticleVersion::getUpdatedAt)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
 }
@@ -2,25 +2,58 @@ package com.article.backend.controller;
 
 import com.article.backend.model.Article;
 import com.article.backend.model.ArticleImage;
+import com.article.backend.model.ArticleImageMetadata;
+import com.article.backend.model.ImageBlobLocation;
+import com.article.backend.model.ImageUploads;
+import com.article.backend.model.ImageVariantMetadata;
+import com.article.backend.model.enums.ArticleStatus;
 import com.article.backend.service.ArticleImageService;
 import com.article.backend.service.ArticleService;
-import com.article.backend.util.FileToBase64Utils;
+import com.article.backend.service.ImageIngestService;
+import com.article.backend.service.ImageVariantService;
+import com.article.backend.service.metrics.ImageMetrics;
+import com.article.backend.service.storage.ImageStorage;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Path;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
 
 @RestController
 @RequestMapping("/image")
 public class ImageController {
 
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
     @Autowired
     ArticleImageService articleImageService;
 
     @Autowired
     ArticleService articleService;
 
+    @Autowired
+    ImageStorage imageStorage;
+
+    @Autowired
+    ImageIngestService imageIngestService;
+
+    @Autowired
+    ImageVariantService imageVariantService;
+
+    @Autowired
+    ImageMetrics imageMetrics;
+
     @PostMapping
     public ResponseEntity<ArticleImage> saveImage(@RequestParam Long articleId,
                                                   @RequestPart MultipartFile file) {
@@ -28,11 +61,79 @@ public class ImageController {
         if (article == null) {
             throw new EntityNotFoundException("Article not found.");
         }
-        ArticleImage newArticleImage = new ArticleImage();
-        newArticleImage.setArticle(article);
-        newArticleImage.setName(file.getOriginalFilename());
-        newArticleImage.setImage(FileToBase64Utils.getBase64ImageFromFile(file));
-        return ResponseEntity.ok(articleImageService.saveArticleImage(newArticleImage));
+        try (ImageUploads images = imageIngestService.readUploads(file)) {
+            return ResponseEntity.ok(articleImageService.saveArticleImage(article, images.getUploads().get(0)));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<StreamingResponseBody> getImage(@PathVariable Long id,
+                                                          @RequestParam(required = false) Integer width,
+                                                          @RequestHeader HttpHeaders headers,
+                                                          Principal principal,
+                                                          HttpServletRequest request) {
+        ArticleImageMetadata metadata = articleImageService.getArticleImageMetadata(id);
+        if (metadata == null || (principal == null && metadata.getArticleStatus() != ArticleStatus.APPROVED)) {
+            throw new EntityNotFoundException("ArticleImage not found.");
+        }
+
+        ImageBlobLocation image = metadata;
+        String contentType = metadata.getContentType();
+        long size = metadata.getSize();
+        if (width != null) {
+            if (width < 1) {
+                throw new ValidationException("Width must be positive.");
+            }
+            ImageVariantMetadata variant = imageVariantService.getBestVariant(metadata, width);
+            if (variant != null) {
+                image = variant;
+                contentType = variant.getContentType();
+                size = variant.getSize();
+            }
+        }
+
+        // malformed and multipart range requests are answered with the whole image, which RFC 9110 allows
+        List<HttpRange> ranges;
+        try {
+            ranges = headers.getRange();
+        } catch (IllegalArgumentException e) {
+            ranges = Collections.emptyList();
+        }
+
+        long start = 0;
+        long end = size - 1;
+        ResponseEntity.BodyBuilder response;
+        if (ranges.size() != 1) {
+            response = ResponseEntity.ok();
+        } else {
+            start = ranges.get(0).getRangeStart(size);
+            end = ranges.get(0).getRangeEnd(size);
+            if (start >= size || start > end) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+            }
+            response = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+        long offset = start;
+        long length = end - start + 1;
+        response.header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(MediaType.parseMediaType(contentType))
+                .contentLength(length);
+
+        imageMetrics.recordServed(image != metadata, length);
+
+        // Tomcat writes the file with sendfile itself when the response has no body
+        Path file = imageStorage.getFile(image);
+        if (file != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, offset);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, offset + length);
+            return response.build();
+        }
+        ImageBlobLocation servedImage = image;
+        return response.body(outputStream -> imageStorage.copy(servedImage, offset, length, outputStream));
     }
 
     @DeleteMapping
@@ -3,19 +3,29 @@ package com.article.backend.controller;
 import com.article.backend.exception.AlreadyExistsException;
 import com.article.backend.model.Article;
 import com.article.backend.model.ArticleTag;
+import com.article.backend.model.BulkTagRequest;
+import com.article.backend.model.TagAssignmentResult;
+import com.article.backend.model.TagCount;
 import com.article.backend.service.ArticleService;
 import com.article.backend.service.ArticleTagService;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
 import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/tag")
 public class TagController {
 
+    private static final int MAX_TAG_LENGTH = 100;
+    private static final int MAX_BULK_SIZE = 1000;
+    private static final int MAX_SUGGESTIONS = 50;
+
     @Autowired
     ArticleTagService articleTagService;
 
@@ -47,6 +57,38 @@ public class TagController {
         return ResponseEntity.ok(articleTagService.saveArticleTag(newArticleTag));
     }
 
+    // duplicates are reported per article and tag instead of failing the whole request
+    @PostMapping("/bulk")
+    public ResponseEntity<List<TagAssignmentResult>> saveTags(@RequestBody @Valid BulkTagRequest request) {
+        if (request.getArticleIds().size() * request.getTags().size() > MAX_BULK_SIZE) {
+            throw new ValidationException("At most " + MAX_BULK_SIZE + " article and tag pairs can be given.");
+        }
+        List<String> formattedTags = request.getTags().stream().map(tag -> {
+            if (!StringUtils.hasText(tag) || !tag.startsWith("#")) {
+                throw new ValidationException("Incorrect tag format, the correct format is #<TAG>.");
+            }
+            String formattedTag = org.apache.commons.lang3.StringUtils.deleteWhitespace(tag);
+            if (formattedTag.length() > MAX_TAG_LENGTH) {
+                throw new ValidationException("A tag can be at most " + MAX_TAG_LENGTH + " characters long.");
+            }
+            return formattedTag;
+        }).toList();
+        return ResponseEntity.ok(articleTagService.addTags(request.getArticleIds(), formattedTags));
+    }
+
+    // the most used tags starting with the prefix, accents and case are ignored
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TagCount>> suggestTags(@RequestParam String prefix,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        if (!StringUtils.hasText(prefix)) {
+            throw new ValidationException("The prefix cannot be empty.");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ValidationException("The limit must be between 1 and " + MAX_SUGGESTIONS + ".");
+        }
+        return ResponseEntity.ok(articleTagService.suggestTags(prefix.strip(), limit));
+    }
+
     @DeleteMapping
     public ResponseEntity<Void> deleteTag(@RequestParam Long id){
         ArticleTag existingArticleTag = articleTagService.getArticleTagById(id);
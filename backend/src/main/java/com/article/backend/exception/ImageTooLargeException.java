@@ -0,0 +1,9 @@
+package com.article.backend.exception;
+
+public class ImageTooLargeException extends RuntimeException {
+
+    public ImageTooLargeException(String message) {
+        super(message);
+    }
+
+}
@@ -2,10 +2,14 @@ package com.article.backend.handler;
 
 import com.article.backend.exception.AlreadyExistsException;
 import com.article.backend.exception.FileStorageException;
+import com.article.backend.exception.ImageTooLargeException;
 import com.article.backend.exception.NotAnImageFileException;
+import com.article.backend.exception.ServiceBusyException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ValidationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -43,4 +47,25 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
     public String handleNotAnImageFileException(NotAnImageFileException ex) {
         return ex.getMessage();
     }
+
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    @ExceptionHandler(ImageTooLargeException.class)
+    public String handleImageTooLargeException(ImageTooLargeException ex) {
+        return ex.getMessage();
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(ServiceBusyException.class)
+    public String handleServiceBusyException(ServiceBusyException ex) {
+        return ex.getMessage();
+    }
+
+    // the database bulkhead rejects while a transaction is opened, the transaction manager wraps its exception
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<String> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        if (ex.getRootCause() instanceof ServiceBusyException serviceBusyException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(serviceBusyException.getMessage());
+        }
+        throw ex;
+    }
 }
@@ -2,6 +2,7 @@ package com.article.backend.model;
 
 import com.article.backend.model.enums.ArticleCategory;
 import com.article.backend.model.enums.ArticleStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -9,16 +10,28 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "article")
+@NamedEntityGraph(name = Article.DETAIL_GRAPH, attributeNodes = @NamedAttributeNode("tags"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "article")
 public class Article {
+    // the tags are joined, the images are loaded by one subselect, only one bag can be fetched by a join
+    public static final String DETAIL_GRAPH = "Article.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -44,15 +57,29 @@ public class Article {
     @Enumerated(EnumType.STRING)
     private ArticleStatus status;
 
+    // sent as the ETag and Last-Modified of the article instead of the body
+    @JsonIgnore
+    @Version
+    private Integer version;
+
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     @JsonManagedReference
     @OneToMany(mappedBy = "article",
             cascade = CascadeType.ALL,
             orphanRemoval = true)
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "article.images")
     private List<ArticleImage> images = new ArrayList<>();
 
     @JsonManagedReference
     @OneToMany(mappedBy = "article",
             cascade = CascadeType.ALL,
             orphanRemoval = true)
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "article.tags")
     private List<ArticleTag> tags = new ArrayList<>();
 }
\ No newline at end of file
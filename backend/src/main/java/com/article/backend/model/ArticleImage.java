@@ -1,12 +1,17 @@
 package com.article.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "article_image")
 @Data
 @NoArgsConstructor
 @Table(name = "article_image")
@@ -16,15 +21,32 @@ public class ArticleImage {
     private Long id;
 
     @JsonBackReference
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "article_id")
     private Article article;
 
     @Column
     private String name;
 
-    @NotBlank(message = "Image is mandatory")
-    @Lob
-    @Column(columnDefinition = "MEDIUMBLOB") //max: 16MB, or we can use LONGBLOB(4GB) instead
-    private String image;
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column
+    private Long size;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_id")
+    private ImageBlob blob;
+
+    public static ArticleImage of(Article article, String name, ImageBlob blob) {
+        ArticleImage articleImage = new ArticleImage();
+        articleImage.setArticle(article);
+        articleImage.setName(name);
+        articleImage.setContentType(blob.getContentType());
+        articleImage.setSize(blob.getSize());
+        articleImage.setBlob(blob);
+        return articleImage;
+    }
 }
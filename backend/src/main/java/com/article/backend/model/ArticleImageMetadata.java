@@ -0,0 +1,19 @@
+package com.article.backend.model;
+
+import com.article.backend.model.enums.ArticleStatus;
+
+public interface ArticleImageMetadata extends ImageBlobLocation {
+    Long getId();
+
+    String getName();
+
+    String getContentType();
+
+    Long getSize();
+
+    Integer getWidth();
+
+    boolean isVariantsFailed();
+
+    ArticleStatus getArticleStatus();
+}
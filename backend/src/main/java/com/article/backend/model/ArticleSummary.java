@@ -0,0 +1,16 @@
+package com.article.backend.model;
+
+import com.article.backend.model.enums.ArticleCategory;
+import com.article.backend.model.enums.ArticleStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ArticleSummary {
+    private Long id;
+    private String title;
+    private String subTitle;
+    private ArticleCategory category;
+    private ArticleStatus status;
+}
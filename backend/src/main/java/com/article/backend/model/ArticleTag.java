@@ -1,26 +1,49 @@
 package com.article.backend.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Formula;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "article_tag")
 @Data
 @NoArgsConstructor
-@Table(name = "article_tag")
+@Table(name = "article_tag", uniqueConstraints = @UniqueConstraint(name = "article_tag_article_tag_id_UN",
+        columnNames = {"article_id", "tag_id"}))
 public class ArticleTag {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @JsonBackReference
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "article_id")
     private Article article;
 
+    // set from the tag dictionary by the services before saving, see TagService
+    @JsonIgnore
+    @Column(name = "tag_id")
+    private Integer tagId;
+
+    // read from the tag dictionary, only written through tagId
     @NotBlank(message = "Tag is mandatory")
-    @Column
+    @Formula("(select t.tag from tag t where t.id = tag_id)")
     private String tag;
+
+    public static ArticleTag of(Long id, String tag) {
+        if (id == null) {
+            return null;
+        }
+        ArticleTag articleTag = new ArticleTag();
+        articleTag.setId(id);
+        articleTag.setTag(tag);
+        return articleTag;
+    }
 }
@@ -0,0 +1,11 @@
+package com.article.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ArticleTagName {
+    private Long articleId;
+    private String tag;
+}
@@ -0,0 +1,14 @@
+package com.article.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class ArticleVersion {
+    private Long id;
+    private Integer version;
+    private Instant updatedAt;
+}
@@ -0,0 +1,12 @@
+package com.article.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Collection;
+
+@Data
+@AllArgsConstructor
+public class ArticlesChangedEvent {
+    private Collection<Long> articleIds;
+}
@@ -0,0 +1,21 @@
+package com.article.backend.model;
+
+import com.article.backend.model.enums.ArticleCategory;
+import com.article.backend.model.enums.ArticleStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+// the given ids are updated when they match the current status and category, without ids every matching article is
+@Data
+public class BulkStatusUpdateRequest {
+    private List<Long> ids;
+
+    private ArticleStatus currentStatus;
+
+    private ArticleCategory category;
+
+    @NotNull(message = "Status is mandatory")
+    private ArticleStatus status;
+}
@@ -0,0 +1,16 @@
+package com.article.backend.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+// every tag is added to every article
+@Data
+public class BulkTagRequest {
+    @NotEmpty(message = "Article ids are mandatory")
+    private List<Long> articleIds;
+
+    @NotEmpty(message = "Tags are mandatory")
+    private List<String> tags;
+}
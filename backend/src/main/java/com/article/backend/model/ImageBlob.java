@@ -0,0 +1,48 @@
+package com.article.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "image_blob")
+// the image bytes are not mapped, without bytecode enhancement Hibernate would load the lob with every blob,
+// ImageStorage reads and writes them directly
+public class ImageBlob implements ImageBlobLocation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 of the uploaded file, hex encoded
+    @Column
+    private String hash;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column
+    private Long size;
+
+    @Column
+    private Integer width;
+
+    @Column
+    private Integer height;
+
+    // the original cannot be decoded, it is served without variants
+    @Column(name = "variants_failed")
+    private boolean variantsFailed;
+
+    @Column(name = "reference_count")
+    private Integer referenceCount;
+
+    @Column(name = "storage_key")
+    private String storageKey;
+
+    @Override
+    public Long getBlobId() {
+        return id;
+    }
+}
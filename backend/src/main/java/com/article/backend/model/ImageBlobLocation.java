@@ -0,0 +1,8 @@
+package com.article.backend.model;
+
+// where the bytes of a stored image can be read from
+public interface ImageBlobLocation {
+    Long getBlobId();
+
+    String getStorageKey();
+}
@@ -0,0 +1,13 @@
+package com.article.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+public class ImageContent {
+    @ToString.Exclude
+    private byte[] content;
+    private String contentType;
+}
@@ -0,0 +1,17 @@
+package com.article.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+public class ImageUpload {
+    private String name;
+    @ToString.Exclude
+    private byte[] content;
+    private String contentType;
+    private String hash;
+    private int width;
+    private int height;
+}
@@ -0,0 +1,27 @@
+package com.article.backend.model;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// the uploads of one request, closing it gives their memory back to the ingest limit
+public class ImageUploads implements AutoCloseable {
+    private final List<ImageUpload> uploads;
+    private final Runnable release;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public ImageUploads(List<ImageUpload> uploads, Runnable release) {
+        this.uploads = uploads;
+        this.release = release;
+    }
+
+    public List<ImageUpload> getUploads() {
+        return uploads;
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            release.run();
+        }
+    }
+}
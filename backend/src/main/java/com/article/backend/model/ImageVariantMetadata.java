@@ -0,0 +1,9 @@
+package com.article.backend.model;
+
+public interface ImageVariantMetadata extends ImageBlobLocation {
+    Integer getWidth();
+
+    String getContentType();
+
+    Long getSize();
+}
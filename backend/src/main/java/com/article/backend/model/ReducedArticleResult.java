@@ -12,4 +12,8 @@ public class ReducedArticleResult {
     private String subTitle;
     private ArticleCategory category;
     private ArticleTag tag;
+
+    public ReducedArticleResult(Long id, String title, String subTitle, ArticleCategory category, Long tagId, String tag) {
+        this(id, title, subTitle, category, ArticleTag.of(tagId, tag));
+    }
 }
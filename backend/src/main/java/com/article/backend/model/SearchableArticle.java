@@ -0,0 +1,15 @@
+package com.article.backend.model;
+
+import com.article.backend.model.enums.ArticleCategory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SearchableArticle {
+    private Long id;
+    private String title;
+    private String subTitle;
+    private String content;
+    private ArticleCategory category;
+}
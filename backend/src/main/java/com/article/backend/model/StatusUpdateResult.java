@@ -0,0 +1,12 @@
+package com.article.backend.model;
+
+import com.article.backend.model.enums.StatusUpdateOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StatusUpdateResult {
+    private Long id;
+    private StatusUpdateOutcome outcome;
+}
@@ -0,0 +1,21 @@
+package com.article.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+@Entity
+@Immutable
+@Data
+@NoArgsConstructor
+@Table(name = "tag")
+// every distinct tag once, article_tag refers to it by id, the rows are never changed or deleted
+public class Tag {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column
+    private String tag;
+}
@@ -0,0 +1,14 @@
+package com.article.backend.model;
+
+import com.article.backend.model.enums.TagAssignmentOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TagAssignmentResult {
+    private Long articleId;
+    private String tag;
+    private Long id;
+    private TagAssignmentOutcome outcome;
+}
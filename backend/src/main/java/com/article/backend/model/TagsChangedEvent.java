@@ -0,0 +1,23 @@
+package com.article.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Collection;
+import java.util.List;
+
+// one element per article the tag was added to or removed from
+@Data
+@AllArgsConstructor
+public class TagsChangedEvent {
+    private Collection<String> addedTags;
+    private Collection<String> removedTags;
+
+    public static TagsChangedEvent added(Collection<String> tags) {
+        return new TagsChangedEvent(tags, List.of());
+    }
+
+    public static TagsChangedEvent removed(Collection<String> tags) {
+        return new TagsChangedEvent(List.of(), tags);
+    }
+}
@@ -0,0 +1,12 @@
+package com.article.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// content is null when the version shows the client already has it
+@Data
+@AllArgsConstructor
+public class Versioned<V, T> {
+    private V version;
+    private T content;
+}
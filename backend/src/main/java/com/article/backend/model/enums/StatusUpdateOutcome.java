@@ -0,0 +1,8 @@
+package com.article.backend.model.enums;
+
+public enum StatusUpdateOutcome {
+    UPDATED,
+    UNCHANGED,
+    SKIPPED,
+    NOT_FOUND
+}
@@ -0,0 +1,7 @@
+package com.article.backend.model.enums;
+
+public enum TagAssignmentOutcome {
+    ADDED,
+    DUPLICATE,
+    NOT_FOUND
+}
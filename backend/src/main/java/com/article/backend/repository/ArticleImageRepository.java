@@ -1,7 +1,16 @@
 package com.article.backend.repository;
 
 import com.article.backend.model.ArticleImage;
+import com.article.backend.model.ArticleImageMetadata;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
 
 public interface ArticleImageRepository extends JpaRepository<ArticleImage, Long> {
+    @Query("select ai.id as id, ai.name as name, ai.contentType as contentType, ai.size as size, " +
+            "b.id as blobId, b.storageKey as storageKey, b.width as width, b.variantsFailed as variantsFailed, " +
+            "a.status as articleStatus " +
+            "from ArticleImage ai join ai.article a join ai.blob b where ai.id = :id")
+    Optional<ArticleImageMetadata> findMetadataById(Long id);
 }
@@ -1,15 +1,87 @@
 package com.article.backend.repository;
 
 import com.article.backend.model.Article;
+import com.article.backend.model.SearchableArticle;
+import com.article.backend.model.enums.ArticleCategory;
 import com.article.backend.model.enums.ArticleStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ArticleRepository extends JpaRepository<Article, Long>, JpaSpecificationExecutor<Article> {
+public interface ArticleRepository extends JpaRepository<Article, Long>, JpaSpecificationExecutor<Article>,
+        ArticleRepositoryCustom {
+    // cached until the article tables change, see config/ehcache.xml for the time to live
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "article.queries")})
+    @EntityGraph(Article.DETAIL_GRAPH)
+    Optional<Article> findDetailedById(Long id);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "article.queries")})
+    @EntityGraph(Article.DETAIL_GRAPH)
     Optional<Article> findArticleByIdAndStatus(Long id, ArticleStatus status);
 
-    List<Article> findAllByStatus(ArticleStatus status);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "article.queries")})
+    <T> Optional<T> findByIdAndStatus(Long id, ArticleStatus status, Class<T> type);
+
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit, Class<T> type);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "article.queries")})
+    <T> List<T> findByStatusAndIdGreaterThanOrderByIdAsc(ArticleStatus status, Long id, Limit limit, Class<T> type);
+
+    // read for the search index, neither the rows nor the query are cached, a rebuild reads every approved article
+    @Query("select new com.article.backend.model.SearchableArticle(a.id, a.title, a.subTitle, a.content, a.category) " +
+            "from Article a where a.status = :status and a.id > :id order by a.id asc")
+    List<SearchableArticle> findSearchableByStatusAndIdGreaterThan(ArticleStatus status, Long id, Limit limit);
+
+    @Query("select new com.article.backend.model.SearchableArticle(a.id, a.title, a.subTitle, a.content, a.category) " +
+            "from Article a where a.status = :status and a.id in :ids")
+    List<SearchableArticle> findSearchableByStatusAndIdIn(ArticleStatus status, Collection<Long> ids);
+
+    // read forward only through a server side cursor, see useCursorFetch in the datasource url,
+    // the rows are not cached and memory does not grow with the number of articles
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")})
+    <T> Stream<T> streamByOrderByIdAsc(Class<T> type);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")})
+    <T> Stream<T> streamByStatusOrderByIdAsc(ArticleStatus status, Class<T> type);
+
+    // the rows stay locked until the status update of the same transaction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    <T> List<T> findLockedByIdIn(Collection<Long> ids, Class<T> type);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    <T> List<T> findLockedByStatusOrderByIdAsc(ArticleStatus status, Limit limit, Class<T> type);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    <T> List<T> findLockedByStatusAndCategoryOrderByIdAsc(ArticleStatus status, ArticleCategory category, Limit limit,
+                                                          Class<T> type);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Article a set a.version = a.version + 1, a.updatedAt = :updatedAt where a.id in :ids")
+    int markUpdated(Collection<Long> ids, Instant updatedAt);
+
+    // a bulk update skips the entity listeners, the version and the update time are set here
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Article a set a.status = :status, a.version = a.version + 1, a.updatedAt = :updatedAt " +
+            "where a.id in :ids and a.status <> :status")
+    int updateStatus(Collection<Long> ids, ArticleStatus status, Instant updatedAt);
 }
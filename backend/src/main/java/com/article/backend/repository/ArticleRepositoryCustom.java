@@ -0,0 +1,15 @@
+package com.article.backend.repository;
+
+import com.article.backend.model.Article;
+import com.article.backend.model.ReducedArticleResult;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ArticleRepositoryCustom {
+    List<ReducedArticleResult> findReducedArticles(Specification<Article> spec);
+
+    List<Map<String, Object>> findReducedArticleFields(Specification<Article> spec, Collection<String> fields);
+}
@@ -0,0 +1,102 @@
+package com.article.backend.repository;
+
+import com.article.backend.model.Article;
+import com.article.backend.model.ArticleTag;
+import com.article.backend.model.ReducedArticleResult;
+import com.article.backend.service.specification.ArticleSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.*;
+
+public class ArticleRepositoryCustomImpl implements ArticleRepositoryCustom {
+
+    private static final String ID_FIELD = "id";
+    private static final String TAG_FIELD = "tag";
+    private static final String TAG_ID_ALIAS = "tagId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReducedArticleResult> findReducedArticles(Specification<Article> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReducedArticleResult> query = criteriaBuilder.createQuery(ReducedArticleResult.class);
+        Root<Article> root = query.from(Article.class);
+        applySpecification(spec, root, query, criteriaBuilder);
+
+        Path<Long> id = root.get(ID_FIELD);
+        Path<String> title = root.get("title");
+        Path<String> subTitle = root.get("subTitle");
+        Path<?> category = root.get("category");
+
+        // the tag filter matches one tag of the dictionary, an article carries a tag once (article_tag_article_tag_id_UN),
+        // so the joined row is the one tag of the article, its id and text are read from that same row
+        Join<Article, ArticleTag> tagJoin = ArticleSpecifications.findTagJoin(root);
+        if (tagJoin == null) {
+            query.select(criteriaBuilder.construct(ReducedArticleResult.class, id, title, subTitle, category,
+                    criteriaBuilder.nullLiteral(Long.class), criteriaBuilder.nullLiteral(String.class)));
+        } else {
+            query.select(criteriaBuilder.construct(ReducedArticleResult.class, id, title, subTitle, category,
+                    tagJoin.get(ID_FIELD), tagJoin.get(TAG_FIELD)));
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findReducedArticleFields(Specification<Article> spec, Collection<String> fields) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Article> root = query.from(Article.class);
+        applySpecification(spec, root, query, criteriaBuilder);
+
+        // the id is always selected as the results are ordered by it
+        List<String> articleFieldNames = new ArrayList<>();
+        articleFieldNames.add(ID_FIELD);
+        fields.stream()
+                .filter(field -> !ID_FIELD.equals(field) && !TAG_FIELD.equals(field))
+                .forEach(articleFieldNames::add);
+
+        List<Expression<?>> articleFields = new ArrayList<>();
+        articleFieldNames.forEach(field -> {
+            Path<?> path = root.get(field);
+            path.alias(field);
+            articleFields.add(path);
+        });
+
+        List<Selection<?>> selections = new ArrayList<>(articleFields);
+
+        // one joined tag row per article, see findReducedArticles
+        Join<Article, ArticleTag> tagJoin = ArticleSpecifications.findTagJoin(root);
+        if (tagJoin != null && fields.contains(TAG_FIELD)) {
+            selections.add(tagJoin.get(ID_FIELD).alias(TAG_ID_ALIAS));
+            selections.add(tagJoin.get(TAG_FIELD).alias(TAG_FIELD));
+        }
+        query.multiselect(selections);
+
+        return entityManager.createQuery(query).getResultList().stream().map(tuple -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (String field : fields) {
+                if (!TAG_FIELD.equals(field)) {
+                    result.put(field, tuple.get(field));
+                } else {
+                    result.put(TAG_FIELD, tagJoin != null ?
+                            ArticleTag.of(tuple.get(TAG_ID_ALIAS, Long.class), tuple.get(TAG_FIELD, String.class)) : null);
+                }
+            }
+            return result;
+        }).toList();
+    }
+
+    private void applySpecification(Specification<Article> spec, Root<Article> root,
+                                    CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(root.get(ID_FIELD)));
+    }
+}
@@ -1,10 +1,29 @@
 package com.article.backend.repository;
 
 import com.article.backend.model.ArticleTag;
+import com.article.backend.model.ArticleTagName;
+import com.article.backend.model.TagCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface ArticleTagRepository extends JpaRepository<ArticleTag, Long> {
-    Optional<ArticleTag> findFirstByTagAndArticle_Id(String tag, Long articleId);
+public interface ArticleTagRepository extends JpaRepository<ArticleTag, Long>, ArticleTagRepositoryCustom {
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "article.queries")})
+    Optional<ArticleTag> findFirstByTagIdAndArticle_Id(Integer tagId, Long articleId);
+
+    @Query("select new com.article.backend.model.TagCount(d.tag, count(t)) from ArticleTag t join Tag d on d.id = t.tagId " +
+            "group by d.id, d.tag")
+    List<TagCount> countArticlesByTag();
+
+    // read for the search index, not cached
+    @Query("select new com.article.backend.model.ArticleTagName(t.article.id, d.tag) from ArticleTag t " +
+            "join Tag d on d.id = t.tagId where t.article.id in :articleIds")
+    List<ArticleTagName> findTagNamesByArticleIdIn(Collection<Long> articleIds);
 }
@@ -0,0 +1,11 @@
+package com.article.backend.repository;
+
+import com.article.backend.model.Tag;
+import com.article.backend.model.TagAssignmentResult;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ArticleTagRepositoryCustom {
+    List<TagAssignmentResult> insertIgnoringDuplicates(Collection<Long> articleIds, Collection<Tag> tags);
+}
@@ -0,0 +1,88 @@
+package com.article.backend.repository;
+
+import com.article.backend.model.Article;
+import com.article.backend.model.Tag;
+import com.article.backend.model.TagAssignmentResult;
+import com.article.backend.model.enums.TagAssignmentOutcome;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.*;
+
+public class ArticleTagRepositoryCustomImpl implements ArticleTagRepositoryCustom {
+
+    private static final String TAGS_COLLECTION_ROLE = Article.class.getName() + ".tags";
+
+    private static final String ARTICLE_TAG_TABLE = "article_tag";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TagAssignmentResult> insertIgnoringDuplicates(Collection<Long> articleIds, Collection<Tag> tags) {
+        List<Long> distinctArticleIds = new ArrayList<>(new LinkedHashSet<>(articleIds));
+        List<Tag> distinctTags = new ArrayList<>(new LinkedHashSet<>(tags));
+        List<Integer> distinctTagIds = distinctTags.stream().map(Tag::getId).toList();
+
+        // one statement per row, its update count tells whether this transaction added the row,
+        // only an existing article is selected and the unique (article_id, tag_id) key skips the duplicates
+        List<Object[]> rows = new ArrayList<>(distinctArticleIds.size() * distinctTags.size());
+        for (Long articleId : distinctArticleIds) {
+            for (Integer tagId : distinctTagIds) {
+                rows.add(new Object[]{tagId, articleId});
+            }
+        }
+        int[] insertedCounts = jdbcTemplate.batchUpdate("INSERT IGNORE INTO article_tag (article_id, tag_id) " +
+                "SELECT a.id, ? FROM article a WHERE a.id = ?", rows);
+
+        // a locking read, it sees the rows a concurrent transaction committed after the snapshot of this one
+        Map<List<Number>, Long> storedIds = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT id, article_id, tag_id FROM article_tag " +
+                        "WHERE article_id IN (:articleIds) AND tag_id IN (:tagIds) FOR UPDATE",
+                new MapSqlParameterSource().addValue("articleIds", distinctArticleIds).addValue("tagIds", distinctTagIds),
+                resultSet -> {
+                    storedIds.put(List.of(resultSet.getLong("article_id"), resultSet.getInt("tag_id")), resultSet.getLong("id"));
+                });
+
+        List<TagAssignmentResult> results = new ArrayList<>(rows.size());
+        int row = 0;
+        for (Long articleId : distinctArticleIds) {
+            for (Tag tag : distinctTags) {
+                Long id = storedIds.get(List.of(articleId, tag.getId()));
+                TagAssignmentOutcome outcome = id == null ? TagAssignmentOutcome.NOT_FOUND :
+                        insertedCounts[row] > 0 ? TagAssignmentOutcome.ADDED : TagAssignmentOutcome.DUPLICATE;
+                results.add(new TagAssignmentResult(articleId, tag.getTag(), id, outcome));
+                row++;
+            }
+        }
+
+        // the insert bypasses hibernate, the cached tag lists of the articles and the cached queries reading
+        // article_tag are dropped by hand, the same way hibernate does it for its own bulk statements
+        if (results.stream().anyMatch(result -> result.getOutcome() == TagAssignmentOutcome.ADDED)) {
+            SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+            CacheImplementor cache = session.getFactory().getCache();
+            results.stream()
+                    .filter(result -> result.getOutcome() == TagAssignmentOutcome.ADDED)
+                    .map(TagAssignmentResult::getArticleId)
+                    .distinct()
+                    .forEach(articleId -> cache.evictCollectionData(TAGS_COLLECTION_ROLE, articleId));
+            String[] querySpaces = {ARTICLE_TAG_TABLE};
+            cache.getTimestampsCache().preInvalidate(querySpaces, session);
+            session.getActionQueue().registerProcess((success, completedSession) ->
+                    cache.getTimestampsCache().invalidate(querySpaces, completedSession));
+        }
+        return results;
+    }
+}
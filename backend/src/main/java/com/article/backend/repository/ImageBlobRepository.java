@@ -0,0 +1,49 @@
+package com.article.backend.repository;
+
+import com.article.backend.model.ImageBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, Long>, ImageBlobRepositoryCustom {
+    Optional<ImageBlob> findByHash(String hash);
+
+    @Query("select b.hash from ImageBlob b where b.hash in :hashes")
+    Set<String> findExistingHashes(Collection<String> hashes);
+
+    // the updated row stays locked until the transaction ends, a concurrent release cannot free it meanwhile
+    @Modifying
+    @Query("update ImageBlob b set b.referenceCount = b.referenceCount + 1 where b.id = :id")
+    int incrementReferenceCount(Long id);
+
+    // a locking read, it sees a blob committed by a concurrent transaction after the snapshot of this one
+    @Modifying
+    @Query("update ImageBlob b set b.referenceCount = b.referenceCount + 1 where b.hash = :hash")
+    int incrementReferenceCountByHash(String hash);
+
+    @Modifying
+    @Query("update ImageBlob b set b.referenceCount = b.referenceCount - 1 where b.id = :id")
+    int decrementReferenceCount(Long id);
+
+    @Query("select b.referenceCount from ImageBlob b where b.id = :id")
+    int findReferenceCount(Long id);
+
+    @Modifying
+    @Query("delete from ImageBlob b where b.id = :id and b.referenceCount <= 0")
+    int deleteUnreferenced(Long id);
+
+    @Modifying
+    @Query("update ImageBlob b set b.width = :width, b.height = :height where b.id = :id")
+    int updateDimensions(Long id, int width, int height);
+
+    @Modifying
+    @Query("update ImageBlob b set b.variantsFailed = true where b.id = :id")
+    int markVariantsFailed(Long id);
+
+    @Query("select b.storageKey from ImageBlob b where b.storageKey in :storageKeys")
+    Set<String> findExistingStorageKeys(Collection<String> storageKeys);
+}
@@ -0,0 +1,13 @@
+package com.article.backend.repository;
+
+import com.article.backend.model.ImageBlob;
+
+import java.io.OutputStream;
+
+public interface ImageBlobRepositoryCustom {
+    Long insert(ImageBlob blob);
+
+    void writeImage(Long id, byte[] content);
+
+    void copyImage(Long id, long offset, long length, OutputStream outputStream);
+}
@@ -0,0 +1,57 @@
+package com.article.backend.repository;
+
+import com.article.backend.exception.FileStorageException;
+import com.article.backend.model.ImageBlob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+public class ImageBlobRepositoryCustomImpl implements ImageBlobRepositoryCustom {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // not persisted through hibernate, a duplicate hash fails this statement only, the session and the transaction of
+    // the caller stay usable
+    @Override
+    public Long insert(ImageBlob blob) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("INSERT INTO image_blob " +
+                    "(hash, content_type, size, width, height, reference_count) VALUES (?, ?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, blob.getHash());
+            statement.setString(2, blob.getContentType());
+            statement.setLong(3, blob.getSize());
+            statement.setInt(4, blob.getWidth());
+            statement.setInt(5, blob.getHeight());
+            statement.setInt(6, blob.getReferenceCount());
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    @Override
+    public void writeImage(Long id, byte[] content) {
+        jdbcTemplate.update("UPDATE image_blob SET image = ? WHERE id = ?", content, id);
+    }
+
+    @Override
+    public void copyImage(Long id, long offset, long length, OutputStream outputStream) {
+        // only the requested range leaves the database, the driver streams it without a String or base64 copy
+        jdbcTemplate.query("SELECT SUBSTRING(image, ?, ?) FROM image_blob WHERE id = ?", resultSet -> {
+            try (InputStream input = resultSet.getBinaryStream(1)) {
+                input.transferTo(outputStream);
+            } catch (IOException e) {
+                throw new FileStorageException("Could not read the file.");
+            }
+        }, offset + 1, length, id);
+    }
+}
@@ -0,0 +1,21 @@
+package com.article.backend.repository;
+
+import com.article.backend.model.ImageVariant;
+import com.article.backend.model.ImageVariantMetadata;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Set;
+
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, Long> {
+    @Query("select v.width as width, b.id as blobId, b.storageKey as storageKey, b.contentType as contentType, " +
+            "b.size as size from ImageVariant v join v.variantBlob b where v.blob.id = :blobId order by v.width")
+    List<ImageVariantMetadata> findMetadataByBlobId(Long blobId);
+
+    @Query("select v.width from ImageVariant v where v.blob.id = :blobId")
+    Set<Integer> findWidthsByBlobId(Long blobId);
+
+    @Query("select v from ImageVariant v join fetch v.variantBlob where v.blob.id = :blobId")
+    List<ImageVariant> findByBlobId(Long blobId);
+}
@@ -0,0 +1,28 @@
+package com.article.backend.repository;
+
+import com.article.backend.model.Tag;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Optional;
+
+public interface TagRepository extends JpaRepository<Tag, Integer> {
+    Optional<Tag> findByTag(String tag);
+
+    // a locking read, it sees a tag committed by a concurrent transaction after the snapshot of this one
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<Tag> findLockedByTag(String tag);
+
+    // a concurrent insert of the same tag is skipped by the unique key,
+    // the query space keeps hibernate from dropping every cache region after the native statement
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tag"))
+    @Query(value = "INSERT IGNORE INTO tag (tag) VALUES (:tag)", nativeQuery = true)
+    int insertIgnoringDuplicate(String tag);
+}
@@ -1,11 +1,16 @@
 package com.article.backend.service;
 
+import com.article.backend.model.Article;
 import com.article.backend.model.ArticleImage;
+import com.article.backend.model.ArticleImageMetadata;
+import com.article.backend.model.ImageUpload;
 
 public interface ArticleImageService {
     ArticleImage getArticleImageById(Long id);
 
-    ArticleImage saveArticleImage(ArticleImage articleImage);
+    ArticleImageMetadata getArticleImageMetadata(Long id);
+
+    ArticleImage saveArticleImage(Article article, ImageUpload upload);
 
     void deleteById(Long id);
 }
@@ -1,23 +1,61 @@
 package com.article.backend.service;
 
 import com.article.backend.model.Article;
+import com.article.backend.model.ArticleSummary;
+import com.article.backend.model.ArticleVersion;
+import com.article.backend.model.CursorPage;
+import com.article.backend.model.ImageUpload;
+import com.article.backend.model.ReducedArticleResult;
+import com.article.backend.model.StatusUpdateResult;
+import com.article.backend.model.Versioned;
 import com.article.backend.model.enums.ArticleCategory;
 import com.article.backend.model.enums.ArticleStatus;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public interface ArticleService {
     Article saveArticle(Article article);
 
-    List<Article> findAll(String title, ArticleCategory category, ArticleStatus status, String tag);
+    Article saveArticle(Article article, List<ImageUpload> images);
+
+    List<ReducedArticleResult> search(String title, ArticleCategory category, ArticleStatus status, String tag);
+
+    List<Map<String, Object>> search(String title, ArticleCategory category, ArticleStatus status, String tag,
+                                     Collection<String> fields);
+
+    List<ReducedArticleResult> fullTextSearch(String query, String title, ArticleCategory category, String tag);
+
+    List<Map<String, Object>> fullTextSearch(String query, String title, ArticleCategory category, String tag,
+                                             Collection<String> fields);
 
     Article getArticleById(Long id);
 
     Article getArticleByIdAndStatus(Long id, ArticleStatus status);
 
-    List<Article> listArticles();
+    Versioned<ArticleVersion, Article> getArticleIfModified(Long id, ArticleStatus status,
+                                                            Predicate<ArticleVersion> modified);
+
+    Versioned<CursorPage<ArticleVersion>, CursorPage<ArticleSummary>> listArticlesByStatusIfModified(
+            ArticleStatus status, String cursor, int limit, Predicate<CursorPage<ArticleVersion>> modified);
+
+    void markUpdated(Long id);
+
+    void markUpdated(Collection<Long> ids);
+
+    CursorPage<ArticleSummary> listArticles(String cursor, int limit);
+
+    CursorPage<ArticleSummary> listArticlesByStatus(ArticleStatus status, String cursor, int limit);
+
+    void exportArticles(ArticleStatus status, Consumer<ArticleSummary> consumer);
+
+    List<StatusUpdateResult> updateStatus(Collection<Long> ids, ArticleStatus currentStatus, ArticleCategory category,
+                                          ArticleStatus status);
 
-    List<Article> listArticlesByStatus(ArticleStatus statusStatus);
+    List<StatusUpdateResult> updateStatus(ArticleStatus currentStatus, ArticleCategory category, ArticleStatus status, int limit);
 
     void deleteById(Long id);
 }
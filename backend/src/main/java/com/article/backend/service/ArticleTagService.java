@@ -1,6 +1,11 @@
 package com.article.backend.service;
 
 import com.article.backend.model.ArticleTag;
+import com.article.backend.model.TagAssignmentResult;
+import com.article.backend.model.TagCount;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ArticleTagService {
     ArticleTag getArticleTagById(Long id);
@@ -9,5 +14,9 @@ public interface ArticleTagService {
 
     ArticleTag getByTagAndArticle(String tag, Long articleId);
 
+    List<TagAssignmentResult> addTags(Collection<Long> articleIds, Collection<String> tags);
+
+    List<TagCount> suggestTags(String prefix, int limit);
+
     void deleteById(Long id);
 }
@@ -0,0 +1,14 @@
+package com.article.backend.service;
+
+import com.article.backend.model.ImageBlob;
+import com.article.backend.model.ImageUpload;
+
+import java.util.List;
+
+public interface ImageBlobService {
+    ImageBlob acquire(ImageUpload upload);
+
+    List<ImageBlob> acquireAll(List<ImageUpload> uploads);
+
+    void release(ImageBlob blob);
+}
@@ -0,0 +1,12 @@
+package com.article.backend.service;
+
+import com.article.backend.model.ImageContent;
+import com.article.backend.model.ImageUpload;
+import com.article.backend.model.ImageUploads;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ImageIngestService {
+    ImageUploads readUploads(MultipartFile... files);
+
+    ImageContent normalize(ImageUpload upload);
+}
@@ -0,0 +1,13 @@
+package com.article.backend.service;
+
+import com.article.backend.model.ArticleImageMetadata;
+import com.article.backend.model.ImageBlob;
+import com.article.backend.model.ImageVariantMetadata;
+
+public interface ImageVariantService {
+    void generateVariants(Long blobId);
+
+    ImageVariantMetadata getBestVariant(ArticleImageMetadata image, int width);
+
+    void deleteVariants(ImageBlob blob);
+}
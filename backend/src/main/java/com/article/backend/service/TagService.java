@@ -0,0 +1,9 @@
+package com.article.backend.service;
+
+import com.article.backend.model.Tag;
+
+public interface TagService {
+    Tag getTag(String tag);
+
+    Tag getOrCreateTag(String tag);
+}
@@ -1,29 +1,56 @@
 package com.article.backend.service.impl;
 
+import com.article.backend.model.Article;
 import com.article.backend.model.ArticleImage;
+import com.article.backend.model.ArticleImageMetadata;
+import com.article.backend.model.ImageUpload;
 import com.article.backend.repository.ArticleImageRepository;
 import com.article.backend.service.ArticleImageService;
+import com.article.backend.service.ArticleService;
+import com.article.backend.service.ImageBlobService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed("article.service")
 public class ArticleImageServiceImpl implements ArticleImageService {
 
     @Autowired
     private ArticleImageRepository repository;
 
+    @Autowired
+    private ImageBlobService imageBlobService;
+
+    @Autowired
+    private ArticleService articleService;
+
     @Override
     public ArticleImage getArticleImageById(Long id) {
         return repository.findById(id).orElse(null);
     }
 
     @Override
-    public ArticleImage saveArticleImage(ArticleImage articleImage) {
-        return repository.save(articleImage);
+    public ArticleImageMetadata getArticleImageMetadata(Long id) {
+        return repository.findMetadataById(id).orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public ArticleImage saveArticleImage(Article article, ImageUpload upload) {
+        ArticleImage articleImage = repository.save(ArticleImage.of(article, upload.getName(), imageBlobService.acquire(upload)));
+        articleService.markUpdated(article.getId());
+        return articleImage;
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(articleImage -> {
+            repository.delete(articleImage);
+            imageBlobService.release(articleImage.getBlob());
+            articleService.markUpdated(articleImage.getArticle().getId());
+        });
     }
 }
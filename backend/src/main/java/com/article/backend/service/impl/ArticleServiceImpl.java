@@ -1,74 +1,338 @@
 package com.article.backend.service.impl;
 
 import com.article.backend.model.Article;
+import com.article.backend.model.ArticleImage;
+import com.article.backend.model.ArticleSummary;
+import com.article.backend.model.ArticleVersion;
+import com.article.backend.model.ArticleTag;
+import com.article.backend.model.ArticlesChangedEvent;
+import com.article.backend.model.Tag;
+import com.article.backend.model.TagsChangedEvent;
+import com.article.backend.model.CursorPage;
+import com.article.backend.model.ImageBlob;
+import com.article.backend.model.ImageUpload;
+import com.article.backend.model.ReducedArticleResult;
+import com.article.backend.model.StatusUpdateResult;
+import com.article.backend.model.Versioned;
 import com.article.backend.model.enums.ArticleCategory;
 import com.article.backend.model.enums.ArticleStatus;
+import com.article.backend.model.enums.StatusUpdateOutcome;
 import com.article.backend.repository.ArticleRepository;
 import com.article.backend.service.ArticleService;
+import com.article.backend.service.ImageBlobService;
+import com.article.backend.service.TagService;
+import com.article.backend.service.search.ArticleSearchIndex;
 import com.article.backend.service.specification.ArticleSpecifications;
+import com.article.backend.util.CursorUtils;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.util.List;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Service
+@Timed("article.service")
 public class ArticleServiceImpl implements ArticleService {
 
+    private static final Set<String> REDUCED_ARTICLE_FIELDS = Set.of("id", "title", "subTitle", "category", "tag");
+
+    private static final int MAX_FULL_TEXT_RESULTS = 100;
+
     @Autowired
     private ArticleRepository repository;
 
+    @Autowired
+    private ImageBlobService imageBlobService;
+
+    @Autowired
+    private ArticleSearchIndex searchIndex;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
+    @Transactional
     public Article saveArticle(Article article) {
-        return repository.save(article);
+        resolveTags(article);
+        Article savedArticle = repository.save(article);
+        eventPublisher.publishEvent(new ArticlesChangedEvent(List.of(savedArticle.getId())));
+        return savedArticle;
     }
 
     @Override
-    public List<Article> findAll(String title, ArticleCategory category, ArticleStatus status, String tag) {
-        Specification<Article> spec = Specification.where(null);
-
-        if (StringUtils.hasText(title)) {
-            spec = spec.and(ArticleSpecifications.hasTitle(title));
+    @Transactional
+    public Article saveArticle(Article article, List<ImageUpload> images) {
+        article.setImages(new ArrayList<>());
+        List<ImageBlob> blobs = imageBlobService.acquireAll(images);
+        for (int i = 0; i < images.size(); i++) {
+            article.getImages().add(ArticleImage.of(article, images.get(i).getName(), blobs.get(i)));
         }
-
-        if (StringUtils.hasText(tag)) {
-            spec = spec.and(ArticleSpecifications.hasTag(tag));
+        resolveTags(article);
+        Article savedArticle = repository.save(article);
+        eventPublisher.publishEvent(new ArticlesChangedEvent(List.of(savedArticle.getId())));
+        if (!savedArticle.getTags().isEmpty()) {
+            eventPublisher.publishEvent(TagsChangedEvent.added(savedArticle.getTags().stream().map(ArticleTag::getTag).toList()));
         }
+        return savedArticle;
+    }
 
-        if (status != null) {
-            spec = spec.and(ArticleSpecifications.hasStatus(status));
+    // the read-only methods go to a read replica when the replicas are enabled
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReducedArticleResult> search(String title, ArticleCategory category, ArticleStatus status, String tag) {
+        return repository.findReducedArticles(buildSpecification(title, category, status, tag));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> search(String title, ArticleCategory category, ArticleStatus status, String tag,
+                                            Collection<String> fields) {
+        Set<String> requestedFields = new LinkedHashSet<>(fields);
+        if (!REDUCED_ARTICLE_FIELDS.containsAll(requestedFields)) {
+            throw new ValidationException("Unknown field, the supported fields are " + REDUCED_ARTICLE_FIELDS + ".");
         }
+        return repository.findReducedArticleFields(buildSpecification(title, category, status, tag), requestedFields);
+    }
 
-        if (category != null) {
-            spec = spec.and(ArticleSpecifications.hasCategory(category));
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReducedArticleResult> fullTextSearch(String query, String title, ArticleCategory category, String tag) {
+        List<Long> rankedIds = searchIndex.search(query, category, tag, MAX_FULL_TEXT_RESULTS);
+        if (rankedIds.isEmpty()) {
+            return List.of();
         }
+        Specification<Article> spec = buildSpecification(title, category, ArticleStatus.APPROVED, tag)
+                .and(ArticleSpecifications.hasIdIn(rankedIds));
+        return sortByRank(repository.findReducedArticles(spec), rankedIds, ReducedArticleResult::getId);
+    }
 
-        return repository.findAll(spec);
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> fullTextSearch(String query, String title, ArticleCategory category, String tag,
+                                                    Collection<String> fields) {
+        Set<String> requestedFields = new LinkedHashSet<>(fields);
+        if (!REDUCED_ARTICLE_FIELDS.containsAll(requestedFields)) {
+            throw new ValidationException("Unknown field, the supported fields are " + REDUCED_ARTICLE_FIELDS + ".");
+        }
+        List<Long> rankedIds = searchIndex.search(query, category, tag, MAX_FULL_TEXT_RESULTS);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        // the id is needed for the ordering even when it was not requested
+        Set<String> queriedFields = new LinkedHashSet<>(requestedFields);
+        queriedFields.add("id");
+        Specification<Article> spec = buildSpecification(title, category, ArticleStatus.APPROVED, tag)
+                .and(ArticleSpecifications.hasIdIn(rankedIds));
+        List<Map<String, Object>> results = sortByRank(repository.findReducedArticleFields(spec, queriedFields),
+                rankedIds, result -> (Long) result.get("id"));
+        if (!requestedFields.contains("id")) {
+            results.forEach(result -> result.remove("id"));
+        }
+        return results;
     }
 
     @Override
     public Article getArticleById(Long id) {
-        return repository.findById(id).orElse(null);
+        return repository.findDetailedById(id).orElse(null);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Article getArticleByIdAndStatus(Long id, ArticleStatus status) {
         return repository.findArticleByIdAndStatus(id, status).orElse(null);
     }
 
+    // the version and the article are read in one transaction, so from the same database,
+    // the article is loaded only when the version shows the client does not have it yet
+    @Override
+    @Transactional(readOnly = true)
+    public Versioned<ArticleVersion, Article> getArticleIfModified(Long id, ArticleStatus status,
+                                                                   Predicate<ArticleVersion> modified) {
+        ArticleVersion version = repository.findByIdAndStatus(id, status, ArticleVersion.class).orElse(null);
+        if (version == null) {
+            return null;
+        }
+        return new Versioned<>(version, modified.test(version) ? getArticleByIdAndStatus(id, status) : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Versioned<CursorPage<ArticleVersion>, CursorPage<ArticleSummary>> listArticlesByStatusIfModified(
+            ArticleStatus status, String cursor, int limit, Predicate<CursorPage<ArticleVersion>> modified) {
+        Long afterId = CursorUtils.decode(cursor);
+        CursorPage<ArticleVersion> versions = toPage(repository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId,
+                Limit.of(limit + 1), ArticleVersion.class), limit, ArticleVersion::getId);
+        return new Versioned<>(versions, modified.test(versions) ? listArticlesByStatus(status, cursor, limit) : null);
+    }
+
+    // the tags and images are saved on their own, the article gets a new version for them here
+    @Override
+    @Transactional
+    public void markUpdated(Long id) {
+        repository.findById(id).ifPresent(article -> article.setUpdatedAt(Instant.now()));
+    }
+
+    @Override
+    @Transactional
+    public void markUpdated(Collection<Long> ids) {
+        repository.markUpdated(ids, Instant.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ArticleSummary> listArticles(String cursor, int limit) {
+        Long afterId = CursorUtils.decode(cursor);
+        return toPage(repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit + 1), ArticleSummary.class),
+                limit, ArticleSummary::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ArticleSummary> listArticlesByStatus(ArticleStatus status, String cursor, int limit) {
+        Long afterId = CursorUtils.decode(cursor);
+        return toPage(repository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, Limit.of(limit + 1),
+                ArticleSummary.class), limit, ArticleSummary::getId);
+    }
+
+    // the projections are not managed, nothing is kept in the persistence context while the rows are read
+    @Override
+    @Transactional(readOnly = true)
+    public void exportArticles(ArticleStatus status, Consumer<ArticleSummary> consumer) {
+        try (Stream<ArticleSummary> articles = status != null ?
+                repository.streamByStatusOrderByIdAsc(status, ArticleSummary.class) :
+                repository.streamByOrderByIdAsc(ArticleSummary.class)) {
+            articles.forEach(consumer);
+        }
+    }
+
     @Override
-    public List<Article> listArticles() {
-        return repository.findAll();
+    @Transactional
+    public List<StatusUpdateResult> updateStatus(Collection<Long> ids, ArticleStatus currentStatus,
+                                                 ArticleCategory category, ArticleStatus status) {
+        Map<Long, ArticleSummary> articles = new HashMap<>();
+        repository.findLockedByIdIn(ids, ArticleSummary.class).forEach(article -> articles.put(article.getId(), article));
+
+        List<StatusUpdateResult> results = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            ArticleSummary article = articles.get(id);
+            if (article == null) {
+                results.add(new StatusUpdateResult(id, StatusUpdateOutcome.NOT_FOUND));
+            } else if (article.getStatus() == status) {
+                results.add(new StatusUpdateResult(id, StatusUpdateOutcome.UNCHANGED));
+            } else if ((currentStatus != null && article.getStatus() != currentStatus) ||
+                    (category != null && article.getCategory() != category)) {
+                results.add(new StatusUpdateResult(id, StatusUpdateOutcome.SKIPPED));
+            } else {
+                results.add(new StatusUpdateResult(id, StatusUpdateOutcome.UPDATED));
+                updatedIds.add(id);
+            }
+        }
+        return applyStatus(updatedIds, status, results);
     }
 
     @Override
-    public List<Article> listArticlesByStatus(ArticleStatus statusStatus) {
-        return repository.findAllByStatus(statusStatus);
+    @Transactional
+    public List<StatusUpdateResult> updateStatus(ArticleStatus currentStatus, ArticleCategory category,
+                                                 ArticleStatus status, int limit) {
+        // one more than the limit is read to tell a full match from a truncated one
+        List<ArticleSummary> articles = category == null ?
+                repository.findLockedByStatusOrderByIdAsc(currentStatus, Limit.of(limit + 1), ArticleSummary.class) :
+                repository.findLockedByStatusAndCategoryOrderByIdAsc(currentStatus, category, Limit.of(limit + 1),
+                        ArticleSummary.class);
+        if (articles.size() > limit) {
+            throw new ValidationException("More than " + limit + " articles match, narrow the filter or give the ids.");
+        }
+        List<Long> ids = articles.stream().map(ArticleSummary::getId).toList();
+        StatusUpdateOutcome outcome = currentStatus == status ? StatusUpdateOutcome.UNCHANGED : StatusUpdateOutcome.UPDATED;
+        List<StatusUpdateResult> results = ids.stream().map(id -> new StatusUpdateResult(id, outcome)).toList();
+        return applyStatus(outcome == StatusUpdateOutcome.UPDATED ? ids : List.of(), status, results);
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(article -> {
+            List<ImageBlob> blobs = article.getImages().stream().map(ArticleImage::getBlob).toList();
+            List<String> tags = article.getTags().stream().map(ArticleTag::getTag).toList();
+            repository.delete(article);
+            blobs.forEach(imageBlobService::release);
+            eventPublisher.publishEvent(new ArticlesChangedEvent(List.of(id)));
+            if (!tags.isEmpty()) {
+                eventPublisher.publishEvent(TagsChangedEvent.removed(tags));
+            }
+        });
+    }
+
+    private List<StatusUpdateResult> applyStatus(List<Long> ids, ArticleStatus status, List<StatusUpdateResult> results) {
+        if (!ids.isEmpty()) {
+            repository.updateStatus(ids, status, Instant.now());
+            eventPublisher.publishEvent(new ArticlesChangedEvent(ids));
+        }
+        return results;
+    }
+
+    // new tags are stored in their dictionary spelling
+    private void resolveTags(Article article) {
+        article.getTags().stream().filter(articleTag -> articleTag.getTagId() == null).forEach(articleTag -> {
+            Tag tag = tagService.getOrCreateTag(articleTag.getTag());
+            articleTag.setTagId(tag.getId());
+            articleTag.setTag(tag.getTag());
+        });
+    }
+
+    private Specification<Article> buildSpecification(String title, ArticleCategory category, ArticleStatus status, String tag) {
+        Specification<Article> spec = Specification.where(null);
+
+        if (StringUtils.hasText(title)) {
+            spec = spec.and(ArticleSpecifications.hasTitle(title));
+        }
+
+        if (StringUtils.hasText(tag)) {
+            Tag storedTag = tagService.getTag(tag);
+            spec = spec.and(ArticleSpecifications.hasTag(storedTag != null ? storedTag.getId() : null));
+        }
+
+        if (status != null) {
+            spec = spec.and(ArticleSpecifications.hasStatus(status));
+        }
+
+        if (category != null) {
+            spec = spec.and(ArticleSpecifications.hasCategory(category));
+        }
+
+        return spec;
+    }
+
+    private <T> List<T> sortByRank(List<T> results, List<Long> rankedIds, Function<T, Long> idExtractor) {
+        Map<Long, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            ranks.put(rankedIds.get(i), i);
+        }
+        List<T> sortedResults = new ArrayList<>(results);
+        sortedResults.sort(Comparator.comparing(result -> ranks.get(idExtractor.apply(result))));
+        return sortedResults;
+    }
+
+    private <T> CursorPage<T> toPage(List<T> articles, int limit, Function<T, Long> idExtractor) {
+        if (articles.size() <= limit) {
+            return new CursorPage<>(articles, null);
+        }
+        List<T> items = articles.subList(0, limit);
+        return new CursorPage<>(items, CursorUtils.encode(idExtractor.apply(items.get(limit - 1))));
     }
 }
@@ -1,34 +1,110 @@
 package com.article.backend.service.impl;
 
+import com.article.backend.exception.AlreadyExistsException;
 import com.article.backend.model.ArticleTag;
+import com.article.backend.model.ArticlesChangedEvent;
+import com.article.backend.model.Tag;
+import com.article.backend.model.TagAssignmentResult;
+import com.article.backend.model.TagCount;
+import com.article.backend.model.TagsChangedEvent;
+import com.article.backend.model.enums.TagAssignmentOutcome;
 import com.article.backend.repository.ArticleTagRepository;
+import com.article.backend.service.ArticleService;
 import com.article.backend.service.ArticleTagService;
+import com.article.backend.service.TagService;
+import com.article.backend.service.search.TagSuggestionIndex;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 @Service
+@Timed("article.service")
 public class ArticleTagServiceImpl implements ArticleTagService {
 
     @Autowired
     private ArticleTagRepository repository;
 
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TagSuggestionIndex tagSuggestionIndex;
+
     @Override
     public ArticleTag getArticleTagById(Long id) {
         return repository.findById(id).orElse(null);
     }
 
     @Override
+    @Transactional
     public ArticleTag saveArticleTag(ArticleTag articleTag) {
-        return repository.save(articleTag);
+        Tag tag = tagService.getOrCreateTag(articleTag.getTag());
+        articleTag.setTagId(tag.getId());
+        articleTag.setTag(tag.getTag());
+        ArticleTag savedArticleTag;
+        try {
+            savedArticleTag = repository.saveAndFlush(articleTag);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent request added the same tag after the duplicate check
+            throw new AlreadyExistsException("This tag already exists for the given article.");
+        }
+        articleService.markUpdated(savedArticleTag.getArticle().getId());
+        eventPublisher.publishEvent(new ArticlesChangedEvent(List.of(savedArticleTag.getArticle().getId())));
+        eventPublisher.publishEvent(TagsChangedEvent.added(List.of(savedArticleTag.getTag())));
+        return savedArticleTag;
+    }
+
+    @Override
+    @Transactional
+    public List<TagAssignmentResult> addTags(Collection<Long> articleIds, Collection<String> tags) {
+        List<Tag> storedTags = tags.stream().map(tagService::getOrCreateTag).toList();
+        List<TagAssignmentResult> results = repository.insertIgnoringDuplicates(articleIds, storedTags);
+        List<TagAssignmentResult> added = results.stream()
+                .filter(result -> result.getOutcome() == TagAssignmentOutcome.ADDED)
+                .toList();
+        List<Long> changedArticleIds = added.stream().map(TagAssignmentResult::getArticleId).distinct().toList();
+        if (!changedArticleIds.isEmpty()) {
+            articleService.markUpdated(changedArticleIds);
+            eventPublisher.publishEvent(new ArticlesChangedEvent(changedArticleIds));
+            eventPublisher.publishEvent(TagsChangedEvent.added(added.stream().map(TagAssignmentResult::getTag).toList()));
+        }
+        return results;
     }
 
     @Override
     public ArticleTag getByTagAndArticle(String tag, Long articleId) {
-        return repository.findFirstByTagAndArticle_Id(tag, articleId).orElse(null);
+        Tag storedTag = tagService.getTag(tag);
+        if (storedTag == null) {
+            return null;
+        }
+        return repository.findFirstByTagIdAndArticle_Id(storedTag.getId(), articleId).orElse(null);
+    }
+
+    @Override
+    public List<TagCount> suggestTags(String prefix, int limit) {
+        return tagSuggestionIndex.suggest(prefix, limit);
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(articleTag -> {
+            repository.delete(articleTag);
+            articleService.markUpdated(articleTag.getArticle().getId());
+            eventPublisher.publishEvent(new ArticlesChangedEvent(List.of(articleTag.getArticle().getId())));
+            eventPublisher.publishEvent(TagsChangedEvent.removed(List.of(articleTag.getTag())));
+        });
     }
 }
@@ -0,0 +1,86 @@
+package com.article.backend.service.impl;
+
+import com.article.backend.model.ImageBlob;
+import com.article.backend.model.ImageUpload;
+import com.article.backend.repository.ImageBlobRepository;
+import com.article.backend.service.ImageBlobService;
+import com.article.backend.service.ImageVariantService;
+import com.article.backend.service.storage.ImageStorage;
+import com.article.backend.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class ImageBlobServiceImpl implements ImageBlobService {
+
+    @Autowired
+    private ImageBlobRepository repository;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Override
+    public List<ImageBlob> acquireAll(List<ImageUpload> uploads) {
+        List<ImageBlob> blobs = new ArrayList<>(uploads.size());
+        for (ImageUpload upload : uploads) {
+            blobs.add(acquire(upload));
+        }
+        return blobs;
+    }
+
+    @Override
+    public ImageBlob acquire(ImageUpload upload) {
+        // an already stored file is not written again, only its reference count changes
+        Optional<ImageBlob> existingBlob = repository.findByHash(upload.getHash());
+        if (existingBlob.isPresent() && repository.incrementReferenceCount(existingBlob.get().getId()) == 1) {
+            return existingBlob.get();
+        }
+
+        // the upload was normalized when it was read, its content and content type are stored as they are
+        ImageBlob blob = new ImageBlob();
+        blob.setHash(upload.getHash());
+        blob.setContentType(upload.getContentType());
+        blob.setSize((long) upload.getContent().length);
+        blob.setWidth(upload.getWidth());
+        blob.setHeight(upload.getHeight());
+        blob.setReferenceCount(1);
+        Long blobId;
+        try {
+            blobId = repository.insert(blob);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent upload of the same new file won the unique hash, its blob is shared like a stored one,
+            // the increment waits for that upload to commit and makes its row visible to this transaction
+            if (repository.incrementReferenceCountByHash(upload.getHash()) != 1) {
+                throw e;
+            }
+            return repository.findByHash(upload.getHash()).orElseThrow(() -> e);
+        }
+        ImageBlob savedBlob = repository.findById(blobId).orElseThrow();
+        imageStorage.write(savedBlob, upload.getContent());
+        TransactionUtils.afterCommit(() -> imageVariantService.generateVariants(blobId));
+        return savedBlob;
+    }
+
+    @Override
+    public void release(ImageBlob blob) {
+        // the article_image rows pointing at the blob have to be flushed before the blob can be deleted
+        repository.flush();
+        repository.decrementReferenceCount(blob.getId());
+        if (repository.findReferenceCount(blob.getId()) > 0) {
+            return;
+        }
+        imageVariantService.deleteVariants(blob);
+        if (repository.deleteUnreferenced(blob.getId()) == 1) {
+            imageStorage.delete(blob);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.article.backend.service.impl;
+
+import com.article.backend.exception.FileStorageException;
+import com.article.backend.exception.ImageTooLargeException;
+import com.article.backend.exception.NotAnImageFileException;
+import com.article.backend.model.ImageContent;
+import com.article.backend.model.ImageUpload;
+import com.article.backend.model.ImageUploads;
+import com.article.backend.service.ImageIngestService;
+import com.article.backend.service.metrics.ImageMetrics;
+import com.article.backend.util.Bulkhead;
+import com.article.backend.util.MemoryLimit;
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Service
+public class ImageIngestServiceImpl implements ImageIngestService {
+
+    private static final String REENCODED_FORMAT = "png";
+
+    // the detector is thread safe and expensive to build, one instance serves every upload
+    private static final Detector DETECTOR = TikaConfig.getDefaultConfig().getDetector();
+
+    @Value("${article.image.ingest.allowed-content-types}")
+    private Set<String> allowedContentTypes;
+
+    @Value("${article.image.ingest.max-pixels}")
+    private long maxPixels;
+
+    @Value("${article.image.ingest.request-memory-budget}")
+    private DataSize requestMemoryBudget;
+
+    @Autowired
+    @Qualifier("imageIngestExecutor")
+    private Executor executor;
+
+    @Autowired
+    private Bulkhead imageBulkhead;
+
+    // bytes of uploads held in memory by all requests together, shared with the image variants
+    @Autowired
+    private MemoryLimit imageMemoryLimit;
+
+    @Autowired
+    private ImageMetrics imageMetrics;
+
+    @Override
+    public ImageUploads readUploads(MultipartFile... files) {
+        // the budget is checked from the declared sizes before any upload is read into memory
+        long totalSize = 0;
+        for (MultipartFile file : files) {
+            totalSize += file.getSize();
+        }
+        if (totalSize > requestMemoryBudget.toBytes()) {
+            throw new ImageTooLargeException("The uploaded files exceed " + requestMemoryBudget.toMegabytes() + "MB.");
+        }
+
+        imageMemoryLimit.acquire(totalSize);
+        // re-encoded uploads larger than the uploaded files keep the difference reserved as well
+        AtomicLong reservedBytes = new AtomicLong(totalSize);
+        try {
+            return new ImageUploads(invokeAll(Arrays.asList(files), file -> normalized(readUpload(file), reservedBytes)),
+                    () -> imageMemoryLimit.release(reservedBytes.get()));
+        } catch (RuntimeException e) {
+            imageMemoryLimit.release(reservedBytes.get());
+            throw e;
+        }
+    }
+
+    @Override
+    public ImageContent normalize(ImageUpload upload) {
+        return normalize(upload, null);
+    }
+
+    // the uploads are normalized while they are read, before the transaction storing them holds a connection,
+    // the hash stays the one of the uploaded file, the stored blobs are found by it
+    private ImageUpload normalized(ImageUpload upload, AtomicLong reservedBytes) {
+        ImageContent imageContent = normalize(upload, reservedBytes);
+        upload.setContent(imageContent.getContent());
+        upload.setContentType(imageContent.getContentType());
+        return upload;
+    }
+
+    // the decoded image and the png written from it are reserved before decoding, four bytes a pixel each, a png is
+    // at most about the size of its decoded pixels, the part of the png larger than the upload is added to the
+    // reserved bytes of the request and stays reserved until its uploads are closed
+    private ImageContent normalize(ImageUpload upload, AtomicLong reservedBytes) {
+        if (allowedContentTypes.contains(upload.getContentType())) {
+            return new ImageContent(upload.getContent(), upload.getContentType());
+        }
+        long reencodeBytes = 2 * 4L * upload.getWidth() * upload.getHeight();
+        if (reencodeBytes > imageMemoryLimit.getLimit()) {
+            throw new ImageTooLargeException("The image is too large to be converted.");
+        }
+        imageMemoryLimit.acquire(reencodeBytes);
+        long keptBytes = 0;
+        try {
+            ImageContent imageContent = imageMetrics.timeDecode("reencode", upload.getContentType(), () -> reencode(upload));
+            if (reservedBytes != null) {
+                keptBytes = Math.min(reencodeBytes, Math.max(0, imageContent.getContent().length - upload.getContent().length));
+                reservedBytes.addAndGet(keptBytes);
+            }
+            return imageContent;
+        } finally {
+            imageMemoryLimit.release(reencodeBytes - keptBytes);
+        }
+    }
+
+    private ImageContent reencode(ImageUpload upload) {
+        // the pixel count was checked from the header when the upload was read, decoding is bounded
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(upload.getContent()))) {
+            ImageReader reader = getReader(upload.getContentType(), input);
+            BufferedImage image;
+            try {
+                image = reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+            ByteArrayOutputStream imageOutputStream = new ByteArrayOutputStream(upload.getContent().length);
+            if (!ImageIO.write(image, REENCODED_FORMAT, imageOutputStream)) {
+                throw new NotAnImageFileException("Unsupported image format.");
+            }
+            return new ImageContent(imageOutputStream.toByteArray(), "image/" + REENCODED_FORMAT);
+        } catch (IOException e) {
+            throw new NotAnImageFileException("Not an image.");
+        }
+    }
+
+    // runs the task for every item on the ingest executor and fails with the first failure in item order,
+    // a task runs only with a permit of the image bulkhead, wherever it runs
+    private <T, R> List<R> invokeAll(List<T> items, Function<T, R> task) {
+        if (items.size() == 1) {
+            return List.of(imageBulkhead.call(() -> task.apply(items.get(0))));
+        }
+        List<CompletableFuture<R>> futures = items.stream()
+                .map(item -> CompletableFuture.supplyAsync(() -> imageBulkhead.call(() -> task.apply(item)), executor))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+
+        List<R> results = new ArrayList<>(items.size());
+        for (CompletableFuture<R> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    private ImageUpload readUpload(MultipartFile file) {
+        // one pass over the multipart stream into a buffer of the exact size, hashing on the way
+        byte[] content = new byte[Math.toIntExact(file.getSize())];
+        MessageDigest digest = sha256();
+        try (InputStream input = new DigestInputStream(file.getInputStream(), digest)) {
+            if (input.readNBytes(content, 0, content.length) != content.length) {
+                throw new FileStorageException("Could not store the file. Please try again!");
+            }
+        } catch (IOException e) {
+            throw new FileStorageException("Could not store the file. Please try again!");
+        }
+
+        MediaType mediaType = detect(content);
+        if (!"image".equals(mediaType.getType())) {
+            throw new NotAnImageFileException("Not an image.");
+        }
+        String contentType = mediaType.getBaseType().toString();
+        imageMetrics.recordUpload(contentType, content.length);
+        Dimension dimension = readDimension(content, contentType);
+        return new ImageUpload(file.getOriginalFilename(), content, contentType, HexFormat.of().formatHex(digest.digest()),
+                dimension.width, dimension.height);
+    }
+
+    private Dimension readDimension(byte[] content, String contentType) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            ImageReader reader = getReader(contentType, input);
+            try {
+                // only the header is parsed, no pixel data is decoded here
+                Dimension dimension = new Dimension(reader.getWidth(0), reader.getHeight(0));
+                if ((long) dimension.width * dimension.height > maxPixels) {
+                    throw new ImageTooLargeException("The image exceeds " + maxPixels + " pixels.");
+                }
+                return dimension;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new NotAnImageFileException("Not an image.");
+        }
+    }
+
+    private ImageReader getReader(String contentType, ImageInputStream input) {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByMIMEType(contentType);
+        if (input == null || !readers.hasNext()) {
+            throw new NotAnImageFileException("Unsupported image format.");
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(input, true, true);
+        return reader;
+    }
+
+    private MediaType detect(byte[] content) {
+        try (TikaInputStream stream = TikaInputStream.get(content)) {
+            return DETECTOR.detect(stream, new Metadata());
+        } catch (IOException e) {
+            return MediaType.OCTET_STREAM;
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.article.backend.service.impl;
+
+import com.article.backend.model.ArticleImageMetadata;
+import com.article.backend.model.ImageBlob;
+import com.article.backend.model.ImageVariant;
+import com.article.backend.model.ImageVariantMetadata;
+import com.article.backend.repository.ImageBlobRepository;
+import com.article.backend.repository.ImageVariantRepository;
+import com.article.backend.service.ImageVariantService;
+import com.article.backend.service.metrics.ImageMetrics;
+import com.article.backend.service.storage.ImageStorage;
+import com.article.backend.util.Bulkhead;
+import com.article.backend.util.MemoryLimit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ImageVariantServiceImpl implements ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantServiceImpl.class);
+
+    @Autowired
+    private ImageVariantRepository repository;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ImageMetrics imageMetrics;
+
+    @Autowired
+    private Bulkhead imageBulkhead;
+
+    @Autowired
+    private MemoryLimit imageMemoryLimit;
+
+    @Autowired
+    @Qualifier("imageVariantExecutor")
+    private TaskExecutor executor;
+
+    @Value("${article.image.variant.widths}")
+    private List<Integer> widths;
+
+    // blobs whose variants are queued or being generated, so a blob is never processed twice at the same time
+    private final Set<Long> pendingBlobIds = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void generateVariants(Long blobId) {
+        if (!pendingBlobIds.add(blobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(blobId);
+                } catch (RuntimeException e) {
+                    log.warn("Could not generate the variants of image blob {}", blobId, e);
+                } finally {
+                    pendingBlobIds.remove(blobId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            pendingBlobIds.remove(blobId);
+            log.warn("Image variant queue is full, the variants of image blob {} are generated when requested", blobId);
+        }
+    }
+
+    @Override
+    public ImageVariantMetadata getBestVariant(ArticleImageMetadata image, int width) {
+        if (image.isVariantsFailed() || image.getWidth() != null && width >= image.getWidth()) {
+            return null;
+        }
+        List<ImageVariantMetadata> variants = repository.findMetadataByBlobId(image.getBlobId());
+        // until the variants are ready, and for widths above the largest one, the original is served
+        if (hasMissingWidths(image.getWidth(), variants.stream().map(ImageVariantMetadata::getWidth).toList())) {
+            generateVariants(image.getBlobId());
+        }
+        return variants.stream()
+                .filter(variant -> variant.getWidth() >= width)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteVariants(ImageBlob blob) {
+        List<ImageVariant> variants = repository.findByBlobId(blob.getId());
+        if (variants.isEmpty()) {
+            return;
+        }
+        repository.deleteAll(variants);
+        repository.flush();
+        for (ImageVariant variant : variants) {
+            imageBlobRepository.delete(variant.getVariantBlob());
+            imageStorage.delete(variant.getVariantBlob());
+        }
+    }
+
+    private void generate(Long blobId) {
+        ImageBlob blob = imageBlobRepository.findById(blobId).orElse(null);
+        if (blob == null || blob.isVariantsFailed()) {
+            return;
+        }
+        Set<Integer> existingWidths = repository.findWidthsByBlobId(blobId);
+        if (!hasMissingWidths(blob.getWidth(), existingWidths)) {
+            return;
+        }
+
+        // the original is read, decoded and scaled with a permit of the image bulkhead and within the memory limit
+        // shared with the uploads, the images are scaled before the transaction starts, no connection is held
+        // while the CPU works
+        String format = "image/jpeg".equals(blob.getContentType()) ? "jpeg" : "png";
+        List<ImageBlob> variantBlobs = new ArrayList<>();
+        List<byte[]> variantContents = new ArrayList<>();
+        Dimension dimension = imageBulkhead.call(() -> imageMemoryLimit.call(blob.getSize(), () -> {
+            ByteArrayOutputStream originalContent = new ByteArrayOutputStream(Math.toIntExact(blob.getSize()));
+            imageStorage.copy(blob, 0, blob.getSize(), originalContent);
+            byte[] originalBytes = originalContent.toByteArray();
+            Dimension header = readDimension(originalBytes);
+            if (header == null) {
+                return null;
+            }
+            return imageMemoryLimit.call(decodedSize(header, existingWidths), () -> {
+                BufferedImage original = imageMetrics.timeDecode("variant", blob.getContentType(), () -> decode(originalBytes));
+                if (original == null) {
+                    return null;
+                }
+                for (Integer width : widths) {
+                    if (width < original.getWidth() && !existingWidths.contains(width)) {
+                        BufferedImage scaled = scale(original, width, "jpeg".equals(format));
+                        byte[] content = encode(scaled, format);
+                        ImageBlob variantBlob = new ImageBlob();
+                        variantBlob.setContentType("image/" + format);
+                        variantBlob.setSize((long) content.length);
+                        variantBlob.setWidth(scaled.getWidth());
+                        variantBlob.setHeight(scaled.getHeight());
+                        variantBlob.setReferenceCount(1);
+                        variantBlobs.add(variantBlob);
+                        variantContents.add(content);
+                    }
+                }
+                return new Dimension(original.getWidth(), original.getHeight());
+            });
+        }));
+        if (dimension == null) {
+            // marked, so the blob is not queued again by every request for a variant
+            log.warn("Image blob {} cannot be decoded, no variants are generated", blobId);
+            transactionTemplate.executeWithoutResult(status -> imageBlobRepository.markVariantsFailed(blobId));
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (blob.getWidth() == null) {
+                imageBlobRepository.updateDimensions(blobId, dimension.width, dimension.height);
+            }
+            for (int i = 0; i < variantBlobs.size(); i++) {
+                ImageBlob variantBlob = imageBlobRepository.save(variantBlobs.get(i));
+                imageStorage.write(variantBlob, variantContents.get(i));
+                ImageVariant variant = new ImageVariant();
+                variant.setBlob(imageBlobRepository.getReferenceById(blobId));
+                variant.setWidth(variantBlob.getWidth());
+                variant.setVariantBlob(variantBlob);
+                repository.save(variant);
+            }
+        });
+    }
+
+    // the decoded original and the scaled variants, four bytes a pixel, their encoded content is at most as large
+    private long decodedSize(Dimension original, Set<Integer> existingWidths) {
+        long size = 4L * original.width * original.height;
+        for (Integer width : widths) {
+            if (width < original.width && !existingWidths.contains(width)) {
+                long height = Math.max(1, Math.round((double) original.height * width / original.width));
+                size += 2 * 4L * width * height;
+            }
+        }
+        return size;
+    }
+
+    // only the header is parsed, null when the content is not an image ImageIO can read
+    private Dimension readDimension(byte[] content) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // null when the content is not an image ImageIO can read
+    private BufferedImage decode(byte[] content) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(content));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private boolean hasMissingWidths(Integer originalWidth, Collection<Integer> existingWidths) {
+        return widths.stream()
+                .filter(width -> originalWidth == null || width < originalWidth)
+                .anyMatch(width -> !existingWidths.contains(width));
+    }
+
+    private BufferedImage scale(BufferedImage original, int width, boolean opaque) {
+        int height = Math.max(1, Math.round((float) original.getHeight() * width / original.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encode(BufferedImage image, String format) {
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            ImageIO.write(image, format, output);
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode image variant.", e);
+        }
+    }
+}
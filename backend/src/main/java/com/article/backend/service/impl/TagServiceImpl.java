@@ -0,0 +1,51 @@
+package com.article.backend.service.impl;
+
+import com.article.backend.model.Tag;
+import com.article.backend.repository.TagRepository;
+import com.article.backend.service.TagService;
+import com.article.backend.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TagServiceImpl implements TagService {
+
+    @Autowired
+    private TagRepository repository;
+
+    // tag as written -> stored tag, the spellings the collation considers equal share one stored tag,
+    // tags are never changed or deleted so an entry never goes stale,
+    // unknown tags are not cached, a filter by an arbitrary tag cannot grow the map
+    private final Map<String, Tag> tags = new ConcurrentHashMap<>();
+
+    @Override
+    public Tag getTag(String tag) {
+        Tag storedTag = tags.get(tag);
+        if (storedTag == null) {
+            storedTag = repository.findByTag(tag).orElse(null);
+            if (storedTag != null) {
+                tags.put(tag, storedTag);
+            }
+        }
+        return storedTag;
+    }
+
+    // part of the caller's transaction, a new tag is cached once it is committed,
+    // a tag rolled back with the caller's transaction must not stay in the map
+    @Override
+    @Transactional
+    public Tag getOrCreateTag(String tag) {
+        Tag storedTag = tags.get(tag);
+        if (storedTag != null) {
+            return storedTag;
+        }
+        repository.insertIgnoringDuplicate(tag);
+        Tag createdTag = repository.findLockedByTag(tag).orElseThrow();
+        TransactionUtils.afterCommit(() -> tags.put(tag, createdTag));
+        return createdTag;
+    }
+}
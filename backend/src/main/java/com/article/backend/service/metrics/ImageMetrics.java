@@ -0,0 +1,62 @@
+package com.article.backend.service.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+// the bytes uploaded and served and the time spent decoding images, tagged only with values from small fixed sets
+@Component
+public class ImageMetrics {
+
+    private static final Set<String> CONTENT_TYPES = Set.of("image/png", "image/jpeg", "image/gif", "image/bmp",
+            "image/webp", "image/tiff");
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary servedOriginalBytes;
+    private final DistributionSummary servedVariantBytes;
+
+    public ImageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.servedOriginalBytes = servedBytes("original");
+        this.servedVariantBytes = servedBytes("variant");
+    }
+
+    public void recordUpload(String contentType, long bytes) {
+        DistributionSummary.builder("article.image.uploaded")
+                .description("Size of the uploaded images")
+                .baseUnit("bytes")
+                .tag("content.type", contentTypeTag(contentType))
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    public void recordServed(boolean variant, long bytes) {
+        (variant ? servedVariantBytes : servedOriginalBytes).record(bytes);
+    }
+
+    // reencode: an upload converted to the stored format, variant: an original decoded to be downscaled
+    public <T> T timeDecode(String operation, String contentType, Supplier<T> decode) {
+        return Timer.builder("article.image.decode")
+                .description("Time spent decoding and encoding images")
+                .tag("operation", operation)
+                .tag("content.type", contentTypeTag(contentType))
+                .register(meterRegistry)
+                .record(decode);
+    }
+
+    private DistributionSummary servedBytes(String image) {
+        return DistributionSummary.builder("article.image.served")
+                .description("Bytes of the images served, a range request counts only the range")
+                .baseUnit("bytes")
+                .tag("image", image)
+                .register(meterRegistry);
+    }
+
+    private String contentTypeTag(String contentType) {
+        return contentType != null && CONTENT_TYPES.contains(contentType) ? contentType : "other";
+    }
+}
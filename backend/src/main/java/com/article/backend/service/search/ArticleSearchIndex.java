@@ -0,0 +1,319 @@
+package com.article.backend.service.search;
+
+import com.article.backend.model.Article;
+import com.article.backend.model.ArticleTag;
+import com.article.backend.model.ArticleTagName;
+import com.article.backend.model.ArticlesChangedEvent;
+import com.article.backend.model.SearchableArticle;
+import com.article.backend.model.enums.ArticleCategory;
+import com.article.backend.model.enums.ArticleStatus;
+import com.article.backend.repository.ArticleRepository;
+import com.article.backend.repository.ArticleTagRepository;
+import com.article.backend.util.HungarianTextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// inverted index over the title, subtitle, content and tags of the approved articles
+@Component
+public class ArticleSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleSearchIndex.class);
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private static final double PHRASE_BOOST = 2.0;
+
+    private enum Field {
+        TITLE(3.0), SUB_TITLE(2.0), CONTENT(1.0), TAGS(3.0);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    // positions of one term in one article, per field, null where the field does not contain the term
+    private static final class Posting {
+        private final int[][] positions = new int[Field.values().length][];
+
+        private int frequency(Field field) {
+            return positions[field.ordinal()] == null ? 0 : positions[field.ordinal()].length;
+        }
+    }
+
+    private record IndexedArticle(ArticleCategory category, Set<String> tags, Set<String> terms) {}
+
+    @Autowired
+    private ArticleRepository repository;
+
+    @Autowired
+    private ArticleTagRepository articleTagRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("searchIndexExecutor")
+    private Executor executor;
+
+    private final Map<String, Map<Long, Posting>> postings = new HashMap<>();
+    private final Map<Long, IndexedArticle> articles = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // articles changed while the index is being rebuilt, the rebuild must not overwrite them with older data
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    // articles changed since the last refresh, read back together by one task of the executor
+    private final Set<Long> pendingIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        try {
+            TransactionTemplate transactionTemplate = transaction(true);
+            long afterId = 0;
+            int count = 0;
+            List<SearchableArticle> page;
+            do {
+                long pageAfterId = afterId;
+                page = transactionTemplate.execute(status -> {
+                    List<SearchableArticle> approvedArticles = repository.findSearchableByStatusAndIdGreaterThan(
+                            ArticleStatus.APPROVED, pageAfterId, Limit.of(REBUILD_PAGE_SIZE));
+                    Map<Long, List<String>> tags = tagsOf(approvedArticles);
+                    approvedArticles.forEach(article -> {
+                        if (!changedDuringRebuild.contains(article.getId())) {
+                            index(article, tags.getOrDefault(article.getId(), List.of()));
+                        }
+                    });
+                    return approvedArticles;
+                });
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                    count += page.size();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+            log.info("Search index built with {} articles", count);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    // runs after the change is committed, or right away when it was made without a transaction,
+    // the articles are read back on the executor, the request thread still holds the connection of its transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesChanged(ArticlesChangedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.getArticleIds());
+        }
+        pendingIds.addAll(event.getArticleIds());
+        if (refreshScheduled.compareAndSet(false, true)) {
+            executor.execute(this::refreshPending);
+        }
+    }
+
+    private void refreshPending() {
+        refreshScheduled.set(false);
+        List<Long> ids = new ArrayList<>(pendingIds);
+        pendingIds.removeAll(ids);
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            // not read-only, a read replica may not have the committed change yet
+            transaction(false).executeWithoutResult(status -> {
+                Set<Long> missingIds = new HashSet<>(ids);
+                List<SearchableArticle> approvedArticles = repository.findSearchableByStatusAndIdIn(ArticleStatus.APPROVED, ids);
+                Map<Long, List<String>> tags = tagsOf(approvedArticles);
+                for (SearchableArticle article : approvedArticles) {
+                    missingIds.remove(article.getId());
+                    index(article, tags.getOrDefault(article.getId(), List.of()));
+                }
+                missingIds.forEach(this::remove);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Search index not refreshed for articles {}", ids, e);
+        }
+    }
+
+    public void index(Article article) {
+        List<String> tags = article.getTags() == null ? List.of()
+                : article.getTags().stream().map(ArticleTag::getTag).filter(Objects::nonNull).toList();
+        index(new SearchableArticle(article.getId(), article.getTitle(), article.getSubTitle(), article.getContent(),
+                article.getCategory()), tags);
+    }
+
+    private void index(SearchableArticle article, Collection<String> articleTags) {
+        Map<String, Posting> articlePostings = new HashMap<>();
+        addField(articlePostings, Field.TITLE, article.getTitle());
+        addField(articlePostings, Field.SUB_TITLE, article.getSubTitle());
+        addField(articlePostings, Field.CONTENT, article.getContent());
+        addField(articlePostings, Field.TAGS, String.join(" ", articleTags));
+        // compared the way the database collation does, the tag filter of the search is case and accent insensitive
+        Set<String> tags = new HashSet<>();
+        articleTags.forEach(tag -> tags.add(HungarianTextUtils.normalize(tag)));
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(article.getId());
+            articlePostings.forEach((term, posting) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(article.getId(), posting));
+            articles.put(article.getId(), new IndexedArticle(article.getCategory(), tags, articlePostings.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long articleId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ids of the approved articles containing every term of the query, best match first
+    public List<Long> search(String query, ArticleCategory category, String tag, int limit) {
+        List<String> terms = HungarianTextUtils.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        String normalizedTag = tag == null ? null : HungarianTextUtils.normalize(tag);
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Posting>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Posting> posting = postings.get(term);
+                if (posting == null) {
+                    return List.of();
+                }
+                termPostings.add(posting);
+            }
+
+            // candidates come from the rarest term, every other term has to be present too
+            Map<Long, Posting> rarest = termPostings.stream().min(Comparator.comparingInt(Map::size)).orElseThrow();
+            Map<Long, Double> scores = new HashMap<>();
+            for (Long articleId : rarest.keySet()) {
+                IndexedArticle article = articles.get(articleId);
+                if ((category != null && category != article.category()) || (normalizedTag != null && !article.tags().contains(normalizedTag))) {
+                    continue;
+                }
+                if (termPostings.stream().allMatch(posting -> posting.containsKey(articleId))) {
+                    scores.put(articleId, score(articleId, termPostings));
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double score(Long articleId, List<Map<Long, Posting>> termPostings) {
+        double score = 0;
+        int articleCount = articles.size();
+        for (Map<Long, Posting> termPosting : termPostings) {
+            double idf = Math.log(1.0 + (double) articleCount / termPosting.size());
+            Posting posting = termPosting.get(articleId);
+            for (Field field : Field.values()) {
+                int frequency = posting.frequency(field);
+                if (frequency > 0) {
+                    score += field.weight * (1.0 + Math.log(frequency)) * idf;
+                }
+            }
+        }
+        // consecutive query terms next to each other in the same field count as a phrase
+        for (int i = 0; i + 1 < termPostings.size(); i++) {
+            Posting first = termPostings.get(i).get(articleId);
+            Posting second = termPostings.get(i + 1).get(articleId);
+            for (Field field : Field.values()) {
+                if (isFollowedBy(first.positions[field.ordinal()], second.positions[field.ordinal()])) {
+                    score += field.weight * PHRASE_BOOST;
+                }
+            }
+        }
+        return score;
+    }
+
+    private boolean isFollowedBy(int[] positions, int[] nextPositions) {
+        if (positions == null || nextPositions == null) {
+            return false;
+        }
+        for (int position : positions) {
+            if (Arrays.binarySearch(nextPositions, position + 1) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addField(Map<String, Posting> articlePostings, Field field, String text) {
+        Map<String, List<Integer>> positions = new HashMap<>();
+        List<String> tokens = HungarianTextUtils.tokenize(text);
+        for (int i = 0; i < tokens.size(); i++) {
+            positions.computeIfAbsent(tokens.get(i), key -> new ArrayList<>()).add(i);
+        }
+        positions.forEach((term, termPositions) -> articlePostings.computeIfAbsent(term, key -> new Posting())
+                .positions[field.ordinal()] = termPositions.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private void removeLocked(Long articleId) {
+        IndexedArticle article = articles.remove(articleId);
+        if (article == null) {
+            return;
+        }
+        for (String term : article.terms()) {
+            Map<Long, Posting> termPostings = postings.get(term);
+            termPostings.remove(articleId);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private Map<Long, List<String>> tagsOf(List<SearchableArticle> articles) {
+        if (articles.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<String>> tags = new HashMap<>();
+        for (ArticleTagName tag : articleTagRepository.findTagNamesByArticleIdIn(
+                articles.stream().map(SearchableArticle::getId).toList())) {
+            tags.computeIfAbsent(tag.getArticleId(), key -> new ArrayList<>()).add(tag.getTag());
+        }
+        return tags;
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+}
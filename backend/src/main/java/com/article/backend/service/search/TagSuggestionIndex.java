@@ -0,0 +1,95 @@
+package com.article.backend.service.search;
+
+import com.article.backend.model.TagCount;
+import com.article.backend.model.TagsChangedEvent;
+import com.article.backend.repository.ArticleTagRepository;
+import com.article.backend.util.HungarianTextUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// distinct tags with the number of articles using them, sorted by their normalized form for prefix lookups
+@Component
+public class TagSuggestionIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TagSuggestionIndex.class);
+
+    private static final Comparator<TagCount> MOST_USED_FIRST = Comparator.comparing(TagCount::getCount).reversed()
+            .thenComparing(TagCount::getTag);
+
+    @Autowired
+    private ArticleTagRepository repository;
+
+    // normalized tag -> tag as written -> count, "#Sport" and "#sport" are suggested for "#sp" alike
+    private final NavigableMap<String, Map<String, Long>> tags = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // built before the web server starts, so no change can happen in the meantime
+    @PostConstruct
+    public void init() {
+        List<TagCount> tagCounts = repository.countArticlesByTag();
+        lock.writeLock().lock();
+        try {
+            tags.clear();
+            tagCounts.forEach(tagCount -> add(tagCount.getTag(), tagCount.getCount()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Tag suggestion index built with {} tags", tagCounts.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagsChanged(TagsChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getAddedTags().forEach(tag -> add(tag, 1));
+            event.getRemovedTags().forEach(tag -> add(tag, -1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<TagCount> suggest(String prefix, int limit) {
+        String normalizedPrefix = HungarianTextUtils.normalize(prefix);
+        // the most used tags seen so far, the least used of them on top to be replaced first
+        PriorityQueue<TagCount> mostUsed = new PriorityQueue<>(limit + 1, MOST_USED_FIRST.reversed());
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, Map<String, Long>> entry : tags.tailMap(normalizedPrefix, true).entrySet()) {
+                if (!entry.getKey().startsWith(normalizedPrefix)) {
+                    break;
+                }
+                entry.getValue().forEach((tag, count) -> {
+                    mostUsed.add(new TagCount(tag, count));
+                    if (mostUsed.size() > limit) {
+                        mostUsed.poll();
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<TagCount> suggestions = new ArrayList<>(mostUsed);
+        suggestions.sort(MOST_USED_FIRST);
+        return suggestions;
+    }
+
+    private void add(String tag, long delta) {
+        String normalizedTag = HungarianTextUtils.normalize(tag);
+        Map<String, Long> variants = tags.computeIfAbsent(normalizedTag, key -> new HashMap<>(2));
+        Long count = variants.merge(tag, delta, Long::sum);
+        if (count <= 0) {
+            variants.remove(tag);
+            if (variants.isEmpty()) {
+                tags.remove(normalizedTag);
+            }
+        }
+    }
+}
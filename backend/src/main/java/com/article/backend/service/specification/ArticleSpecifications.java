@@ -6,10 +6,15 @@ import com.article.backend.model.enums.ArticleCategory;
 import com.article.backend.model.enums.ArticleStatus;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+
 public class ArticleSpecifications {
 
+    private static final String TAGS = "tags";
+
     private ArticleSpecifications() {}
 
     public static Specification<Article> hasTitle(String title) {
@@ -27,10 +32,29 @@ public class ArticleSpecifications {
                 criteriaBuilder.equal(root.get("category"), category);
     }
 
-    public static Specification<Article> hasTag(String tag) {
+    public static Specification<Article> hasIdIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+
+    // the id comes from the tag dictionary, null for a tag no article has
+    public static Specification<Article> hasTag(Integer tagId) {
         return (root, query, criteriaBuilder) -> {
-            Join<Article, ArticleTag> tagJoin = root.join("tags", JoinType.INNER);
-            return criteriaBuilder.equal(tagJoin.get("tag"), tag);
+            Join<Article, ArticleTag> tagJoin = findTagJoin(root);
+            if (tagJoin == null) {
+                tagJoin = root.join(TAGS, JoinType.INNER);
+            }
+            query.distinct(true);
+            return tagId != null ? criteriaBuilder.equal(tagJoin.get("tagId"), tagId) : criteriaBuilder.disjunction();
         };
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    public static Join<Article, ArticleTag> findTagJoin(Root<Article> root) {
+        return root.getJoins()
+                .stream()
+                .filter(join -> TAGS.equals(join.getAttribute().getName()))
+                .map(join -> (Join<Article, ArticleTag>) join)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.article.backend.service.storage;
+
+import com.article.backend.model.ImageBlob;
+import com.article.backend.model.ImageBlobLocation;
+import com.article.backend.repository.ImageBlobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+
+@Component
+@ConditionalOnProperty(name = "article.image.storage.type", havingValue = "database", matchIfMissing = true)
+public class DatabaseImageStorage implements ImageStorage {
+
+    @Autowired
+    private ImageBlobRepository repository;
+
+    @Override
+    public void write(ImageBlob blob, byte[] content) {
+        repository.writeImage(blob.getId(), content);
+    }
+
+    @Override
+    public void copy(ImageBlobLocation image, long offset, long length, OutputStream outputStream) {
+        repository.copyImage(image.getBlobId(), offset, length, outputStream);
+    }
+
+    @Override
+    public void delete(ImageBlob blob) {
+        // the bytes are removed together with the image_blob row
+    }
+}
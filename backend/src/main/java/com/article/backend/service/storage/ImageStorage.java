@@ -0,0 +1,21 @@
+package com.article.backend.service.storage;
+
+import com.article.backend.model.ImageBlob;
+import com.article.backend.model.ImageBlobLocation;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+public interface ImageStorage {
+    // called after the blob row is inserted, in the same transaction
+    void write(ImageBlob blob, byte[] content);
+
+    void copy(ImageBlobLocation image, long offset, long length, OutputStream outputStream);
+
+    void delete(ImageBlob blob);
+
+    // the file holding the image, for backends whose files can be handed to the container's sendfile support
+    default Path getFile(ImageBlobLocation image) {
+        return null;
+    }
+}
@@ -0,0 +1,112 @@
+package com.article.backend.service.storage;
+
+import com.article.backend.exception.FileStorageException;
+import com.article.backend.model.ImageBlob;
+import com.article.backend.model.ImageBlobLocation;
+import com.article.backend.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(name = "article.image.storage.type", havingValue = "local")
+public class LocalFileImageStorage implements ImageStorage {
+
+    static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private static final Logger log = LoggerFactory.getLogger(LocalFileImageStorage.class);
+
+    private final Path directory;
+
+    public LocalFileImageStorage(@Value("${article.image.storage.local.directory}") Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void write(ImageBlob blob, byte[] content) {
+        String storageKey = UUID.randomUUID().toString();
+        Path target = resolve(storageKey);
+        try {
+            Files.createDirectories(target.getParent());
+            // readers never see a partially written image, the file only appears under its key once it is complete
+            Path temp = Files.createTempFile(target.getParent(), storageKey, TEMP_FILE_SUFFIX);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new FileStorageException("Could not store the file. Please try again!");
+        }
+        blob.setStorageKey(storageKey);
+    }
+
+    @Override
+    public void copy(ImageBlobLocation image, long offset, long length, OutputStream outputStream) {
+        try (FileChannel channel = FileChannel.open(resolve(image.getStorageKey()), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long position = offset;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        } catch (IOException e) {
+            throw new FileStorageException("Could not read the file.");
+        }
+    }
+
+    @Override
+    public void delete(ImageBlob blob) {
+        String storageKey = blob.getStorageKey();
+        if (storageKey == null) {
+            return;
+        }
+        // a rolled back delete must keep the file, files left behind by failures are removed by the sweeper
+        TransactionUtils.afterCommit(() -> {
+            try {
+                Files.deleteIfExists(resolve(storageKey));
+            } catch (IOException e) {
+                log.warn("Could not delete image file {}", storageKey, e);
+            }
+        });
+    }
+
+    @Override
+    public Path getFile(ImageBlobLocation image) {
+        return resolve(image.getStorageKey());
+    }
+
+    Stream<Path> listFiles() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Stream.empty();
+        }
+        return Files.walk(directory).filter(Files::isRegularFile);
+    }
+
+    private Path resolve(String storageKey) {
+        return directory.resolve(storageKey.substring(0, 2)).resolve(storageKey);
+    }
+}
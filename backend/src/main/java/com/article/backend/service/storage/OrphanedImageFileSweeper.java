@@ -0,0 +1,99 @@
+package com.article.backend.service.storage;
+
+import com.article.backend.repository.ImageBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(name = "article.image.storage.type", havingValue = "local")
+public class OrphanedImageFileSweeper {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanedImageFileSweeper.class);
+
+    @Autowired
+    private LocalFileImageStorage storage;
+
+    @Autowired
+    private ImageBlobRepository repository;
+
+    @Value("${article.image.storage.local.orphan-grace-period}")
+    private Duration gracePeriod;
+
+    // files younger than the grace period may belong to a transaction that has not committed yet
+    @Scheduled(fixedDelayString = "${article.image.storage.local.sweep-interval}",
+            initialDelayString = "${article.image.storage.local.sweep-interval}")
+    public void sweep() {
+        Instant threshold = Instant.now().minus(gracePeriod);
+        int deleted = 0;
+        try (Stream<Path> files = storage.listFiles()) {
+            Iterator<Path> iterator = files.filter(file -> isOlderThan(file, threshold)).iterator();
+            List<Path> batch = new ArrayList<>(BATCH_SIZE);
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                if (file.getFileName().toString().endsWith(LocalFileImageStorage.TEMP_FILE_SUFFIX)) {
+                    deleted += delete(file);
+                    continue;
+                }
+                batch.add(file);
+                if (batch.size() == BATCH_SIZE) {
+                    deleted += deleteOrphans(batch);
+                    batch.clear();
+                }
+            }
+            deleted += deleteOrphans(batch);
+        } catch (IOException e) {
+            log.warn("Could not sweep the image directory", e);
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} orphaned image files", deleted);
+        }
+    }
+
+    private int deleteOrphans(List<Path> files) {
+        if (files.isEmpty()) {
+            return 0;
+        }
+        Set<String> referencedKeys = repository.findExistingStorageKeys(files.stream()
+                .map(file -> file.getFileName().toString())
+                .toList());
+        return files.stream()
+                .filter(file -> !referencedKeys.contains(file.getFileName().toString()))
+                .mapToInt(this::delete)
+                .sum();
+    }
+
+    private int delete(Path file) {
+        try {
+            return Files.deleteIfExists(file) ? 1 : 0;
+        } catch (IOException e) {
+            log.warn("Could not delete image file {}", file, e);
+            return 0;
+        }
+    }
+
+    private boolean isOlderThan(Path file, Instant threshold) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(threshold);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
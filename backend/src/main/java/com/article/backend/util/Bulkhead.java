@@ -0,0 +1,57 @@
+package com.article.backend.util;
+
+import com.article.backend.exception.ServiceBusyException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// limits how many threads use a shared resource at the same time, the others wait up to the timeout and are then
+// rejected, so a growing number of request threads turns into 503 responses instead of an overloaded resource
+public class Bulkhead {
+
+    private final Semaphore permits;
+    private final long waitTimeoutMillis;
+    private final String busyMessage;
+
+    // fair, the longest waiting thread gets the next permit
+    public Bulkhead(int permits, Duration waitTimeout, String busyMessage) {
+        this.permits = new Semaphore(permits, true);
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+        this.busyMessage = busyMessage;
+    }
+
+    public void acquire() {
+        try {
+            if (!permits.tryAcquire(waitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException(busyMessage);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(busyMessage);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    // an estimate, the queue changes while it is counted
+    public int waitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    public <T> T call(Supplier<T> task) {
+        acquire();
+        try {
+            return task.get();
+        } finally {
+            release();
+        }
+    }
+}
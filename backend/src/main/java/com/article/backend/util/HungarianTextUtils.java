@@ -0,0 +1,42 @@
+package com.article.backend.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class HungarianTextUtils {
+    private HungarianTextUtils() {}
+
+    private static final Locale HUNGARIAN = Locale.forLanguageTag("hu-HU");
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    // the most frequent Hungarian function words, they match almost every article
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "az", "egy", "es", "is", "hogy", "nem", "de", "meg", "van", "volt", "mint", "vagy", "ha", "mar",
+            "csak", "el", "ki", "be", "fel", "le", "ez", "azt", "ezt", "mert", "pedig", "sem", "maga", "ami", "aki");
+
+    // lower case in Hungarian rules and without accents, so "Ősz" and "osz" or "öt" and "ot" are the same term
+    public static String normalize(String text) {
+        String lowerCase = text.toLowerCase(HUNGARIAN);
+        return COMBINING_MARKS.matcher(Normalizer.normalize(lowerCase, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(normalize(text))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,58 @@
+package com.article.backend.util;
+
+import com.article.backend.exception.ServiceBusyException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// bytes held in memory by every thread together, a thread waits up to the timeout for its bytes and is then rejected,
+// like the Bulkhead but the permits are bytes
+public class MemoryLimit {
+
+    private final long limit;
+    private final Semaphore bytes;
+    private final long waitTimeoutMillis;
+    private final String busyMessage;
+
+    // fair, so large reservations are not starved by small ones
+    public MemoryLimit(long limit, Duration waitTimeout, String busyMessage) {
+        this.limit = limit;
+        this.bytes = new Semaphore(Math.toIntExact(limit), true);
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+        this.busyMessage = busyMessage;
+    }
+
+    public void acquire(long bytes) {
+        try {
+            if (!this.bytes.tryAcquire(Math.toIntExact(bytes), waitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException(busyMessage);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(busyMessage);
+        }
+    }
+
+    public void release(long bytes) {
+        this.bytes.release(Math.toIntExact(bytes));
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public int availableBytes() {
+        return bytes.availablePermits();
+    }
+
+    public <T> T call(long bytes, Supplier<T> task) {
+        acquire(bytes);
+        try {
+            return task.get();
+        } finally {
+            release(bytes);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.article.backend.util;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// the statements executed by the current request, collected by SqlStatisticsDataSource on the request thread,
+// statements of other threads, e.g. the image variants generated in the background, are not counted
+public class SqlStatistics {
+
+    // the statistics of a request are kept as a request attribute as well, tests read them from there
+    public static final String REQUEST_ATTRIBUTE = SqlStatistics.class.getName();
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statementCount;
+    private long jdbcNanos;
+    private long rowCount;
+
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public void recordExecution(String sql, long nanos) {
+        statementCount++;
+        jdbcNanos += nanos;
+        if (sql != null) {
+            executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public void recordRow() {
+        rowCount++;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    // an N+1 shows up as the same parameterized statement executed once for every row of an earlier one
+    public Map.Entry<String, Integer> getMostRepeatedStatement() {
+        return executionsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
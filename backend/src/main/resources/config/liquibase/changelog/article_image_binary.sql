@@ -0,0 +1,19 @@
+ALTER TABLE article_image
+	ADD COLUMN content_type varchar(100) NULL,
+	ADD COLUMN size bigint NULL;
+
+-- MySQL applies the assignments from left to right, size and content_type are computed from the decoded image
+UPDATE article_image
+SET image = FROM_BASE64(image),
+	size = LENGTH(image),
+	content_type = CASE
+		WHEN HEX(LEFT(image, 8)) = '89504E470D0A1A0A' THEN 'image/png'
+		WHEN HEX(LEFT(image, 3)) = 'FFD8FF' THEN 'image/jpeg'
+		WHEN LEFT(image, 4) = 'GIF8' THEN 'image/gif'
+		WHEN LEFT(image, 2) = 'BM' THEN 'image/bmp'
+		ELSE 'application/octet-stream'
+	END;
+
+ALTER TABLE article_image
+	MODIFY content_type varchar(100) NOT NULL,
+	MODIFY size bigint NOT NULL;
@@ -0,0 +1,4 @@
+ALTER TABLE article_image
+	ADD COLUMN storage_key varchar(64) NULL,
+	MODIFY image MEDIUMBLOB NULL,
+	ADD CONSTRAINT article_image_storage_key_UN UNIQUE (storage_key);
@@ -0,0 +1,11 @@
+-- pages of articles by status are read in id order, InnoDB appends the id to every index anyway,
+-- it is listed to keep the ordering intentional
+CREATE INDEX article_status_IDX ON article (status, id);
+
+-- the search always filters by status, the category filter is optional
+CREATE INDEX article_status_category_IDX ON article (status, category, id);
+
+CREATE INDEX article_title_IDX ON article (title);
+
+-- the tag search and the duplicate tag check look up by tag and reach the article without reading the row
+CREATE INDEX article_tag_tag_article_IDX ON article_tag (tag, article_id);
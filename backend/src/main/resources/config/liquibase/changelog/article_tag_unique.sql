@@ -0,0 +1,6 @@
+-- the first of the duplicated tags is kept
+DELETE t FROM article_tag t
+JOIN article_tag first_tag ON first_tag.article_id = t.article_id AND first_tag.tag = t.tag AND first_tag.id < t.id;
+
+ALTER TABLE article_tag
+	ADD CONSTRAINT article_tag_article_tag_UN UNIQUE (article_id, tag);
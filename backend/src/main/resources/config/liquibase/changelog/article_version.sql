@@ -0,0 +1,4 @@
+-- the version is increased by every change of the article, its tags or its images
+ALTER TABLE article
+	ADD COLUMN version int NOT NULL DEFAULT 0,
+	ADD COLUMN updated_at datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3);
@@ -0,0 +1,6 @@
+-- the h2 variant of article_image_binary.sql, the test databases start empty, there are no base64 images to decode
+ALTER TABLE article_image
+	ADD COLUMN content_type varchar(100) NOT NULL;
+
+ALTER TABLE article_image
+	ADD COLUMN size bigint NOT NULL;
@@ -0,0 +1,9 @@
+-- the h2 variant of article_image_storage_key.sql, h2 takes one change per ALTER TABLE
+ALTER TABLE article_image
+	ADD COLUMN storage_key varchar(64) NULL;
+
+ALTER TABLE article_image
+	ALTER COLUMN image SET NULL;
+
+ALTER TABLE article_image
+	ADD CONSTRAINT article_image_storage_key_UN UNIQUE (storage_key);
@@ -0,0 +1,7 @@
+-- the h2 variant of article_tag_unique.sql, h2 has no multi table DELETE, the first of the duplicated tags is kept
+DELETE FROM article_tag t
+WHERE EXISTS (SELECT 1 FROM article_tag first_tag
+	WHERE first_tag.article_id = t.article_id AND first_tag.tag = t.tag AND first_tag.id < t.id);
+
+ALTER TABLE article_tag
+	ADD CONSTRAINT article_tag_article_tag_UN UNIQUE (article_id, tag);
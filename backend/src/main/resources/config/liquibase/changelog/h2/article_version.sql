@@ -0,0 +1,6 @@
+-- the h2 variant of article_version.sql, h2 takes one change per ALTER TABLE
+ALTER TABLE article
+	ADD COLUMN version int NOT NULL DEFAULT 0;
+
+ALTER TABLE article
+	ADD COLUMN updated_at datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3);
@@ -0,0 +1,27 @@
+-- the h2 variant of image_blob.sql, the test databases start empty, there are no images to move into blobs
+CREATE TABLE image_blob (
+	id int AUTO_INCREMENT PRIMARY KEY,
+	hash char(64) NULL,
+	content_type varchar(100) NOT NULL,
+	size bigint NOT NULL,
+	reference_count int NOT NULL,
+	storage_key varchar(64) NULL,
+	image MEDIUMBLOB NULL,
+	CONSTRAINT image_blob_hash_UN UNIQUE (hash),
+	CONSTRAINT image_blob_storage_key_UN UNIQUE (storage_key)
+);
+
+ALTER TABLE article_image
+	DROP CONSTRAINT article_image_storage_key_UN;
+
+ALTER TABLE article_image
+	DROP COLUMN storage_key;
+
+ALTER TABLE article_image
+	DROP COLUMN image;
+
+ALTER TABLE article_image
+	ADD COLUMN blob_id int NOT NULL;
+
+ALTER TABLE article_image
+	ADD CONSTRAINT article_image_image_blob_FK FOREIGN KEY (blob_id) REFERENCES image_blob(id);
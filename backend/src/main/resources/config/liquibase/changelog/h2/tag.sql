@@ -0,0 +1,34 @@
+-- the h2 variant of tag.sql, h2 has no multi table UPDATE and takes one change per ALTER TABLE
+CREATE TABLE tag (
+	id int AUTO_INCREMENT PRIMARY KEY,
+	tag varchar(100) NOT NULL,
+	CONSTRAINT tag_tag_UN UNIQUE (tag)
+);
+
+INSERT IGNORE INTO tag (tag)
+SELECT tag FROM article_tag ORDER BY id;
+
+ALTER TABLE article_tag
+	ADD COLUMN tag_id int NULL AFTER article_id;
+
+UPDATE article_tag t
+SET tag_id = (SELECT tag.id FROM tag WHERE tag.tag = t.tag);
+
+DROP INDEX article_tag_tag_article_IDX;
+
+ALTER TABLE article_tag
+	ALTER COLUMN tag_id SET NOT NULL;
+
+CREATE INDEX article_tag_tag_article_IDX ON article_tag (tag_id, article_id);
+
+ALTER TABLE article_tag
+	ADD CONSTRAINT article_tag_tag_FK FOREIGN KEY (tag_id) REFERENCES tag(id);
+
+ALTER TABLE article_tag
+	ADD CONSTRAINT article_tag_article_tag_id_UN UNIQUE (article_id, tag_id);
+
+ALTER TABLE article_tag
+	DROP CONSTRAINT article_tag_article_tag_UN;
+
+ALTER TABLE article_tag
+	DROP COLUMN tag;
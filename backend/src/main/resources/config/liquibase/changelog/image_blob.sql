@@ -0,0 +1,46 @@
+CREATE TABLE image_blob (
+	id int AUTO_INCREMENT PRIMARY KEY,
+	hash char(64) NULL,
+	content_type varchar(100) NOT NULL,
+	size bigint NOT NULL,
+	reference_count int NOT NULL,
+	storage_key varchar(64) NULL,
+	image MEDIUMBLOB NULL,
+	CONSTRAINT image_blob_hash_UN UNIQUE (hash),
+	CONSTRAINT image_blob_storage_key_UN UNIQUE (storage_key)
+)
+ENGINE=InnoDB
+DEFAULT CHARSET=utf8mb4
+COLLATE=utf8mb4_hungarian_ci;
+
+ALTER TABLE article_image
+	ADD COLUMN blob_id int NULL;
+
+-- identical images stored in the database share one blob, the hash is taken from the stored bytes
+INSERT INTO image_blob (hash, content_type, size, reference_count, image)
+SELECT SHA2(image, 256), ANY_VALUE(content_type), ANY_VALUE(size), COUNT(*), ANY_VALUE(image)
+FROM article_image
+WHERE image IS NOT NULL
+GROUP BY SHA2(image, 256);
+
+UPDATE article_image ai
+JOIN image_blob ib ON ib.hash = SHA2(ai.image, 256)
+SET ai.blob_id = ib.id
+WHERE ai.image IS NOT NULL;
+
+-- the hash of images already written to the local storage is unknown, they get a blob of their own
+INSERT INTO image_blob (content_type, size, reference_count, storage_key)
+SELECT content_type, size, 1, storage_key
+FROM article_image
+WHERE storage_key IS NOT NULL;
+
+UPDATE article_image ai
+JOIN image_blob ib ON ib.storage_key = ai.storage_key
+SET ai.blob_id = ib.id;
+
+ALTER TABLE article_image
+	DROP INDEX article_image_storage_key_UN,
+	DROP COLUMN storage_key,
+	DROP COLUMN image,
+	MODIFY blob_id int NOT NULL,
+	ADD CONSTRAINT article_image_image_blob_FK FOREIGN KEY (blob_id) REFERENCES image_blob(id);
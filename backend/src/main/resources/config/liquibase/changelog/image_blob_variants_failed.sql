@@ -0,0 +1,3 @@
+-- the original cannot be decoded, no variants are generated for it and the original is served
+ALTER TABLE image_blob
+	ADD COLUMN variants_failed boolean NOT NULL DEFAULT FALSE;
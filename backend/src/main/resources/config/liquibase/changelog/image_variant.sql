@@ -0,0 +1,16 @@
+ALTER TABLE image_blob
+	ADD COLUMN width int NULL,
+	ADD COLUMN height int NULL;
+
+CREATE TABLE image_variant (
+	id int AUTO_INCREMENT PRIMARY KEY,
+	blob_id int NOT NULL,
+	width int NOT NULL,
+	variant_blob_id int NOT NULL,
+	CONSTRAINT image_variant_image_blob_FK FOREIGN KEY (blob_id) REFERENCES image_blob(id),
+	CONSTRAINT image_variant_variant_blob_FK FOREIGN KEY (variant_blob_id) REFERENCES image_blob(id),
+	CONSTRAINT image_variant_blob_width_UN UNIQUE (blob_id, width)
+)
+ENGINE=InnoDB
+DEFAULT CHARSET=utf8mb4
+COLLATE=utf8mb4_hungarian_ci;
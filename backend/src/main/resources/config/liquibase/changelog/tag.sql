@@ -0,0 +1,31 @@
+CREATE TABLE tag (
+	id int AUTO_INCREMENT PRIMARY KEY,
+	tag varchar(100) NOT NULL,
+	CONSTRAINT tag_tag_UN UNIQUE (tag)
+)
+ENGINE=InnoDB
+DEFAULT CHARSET=utf8mb4
+COLLATE=utf8mb4_hungarian_ci;
+
+-- the spellings the collation considers equal become one tag, the first one written is kept
+INSERT IGNORE INTO tag (tag)
+SELECT tag FROM article_tag ORDER BY id;
+
+ALTER TABLE article_tag
+	ADD COLUMN tag_id int NULL AFTER article_id;
+
+UPDATE article_tag t
+JOIN tag ON tag.tag = t.tag
+SET t.tag_id = tag.id;
+
+-- the new keys are added before the old ones are dropped, so the article foreign key always has an index
+ALTER TABLE article_tag
+	DROP INDEX article_tag_tag_article_IDX,
+	MODIFY tag_id int NOT NULL,
+	ADD INDEX article_tag_tag_article_IDX (tag_id, article_id),
+	ADD CONSTRAINT article_tag_tag_FK FOREIGN KEY (tag_id) REFERENCES tag(id),
+	ADD CONSTRAINT article_tag_article_tag_id_UN UNIQUE (article_id, tag_id);
+
+ALTER TABLE article_tag
+	DROP INDEX article_tag_article_tag_UN,
+	DROP COLUMN tag;
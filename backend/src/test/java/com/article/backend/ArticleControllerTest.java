@@ -1,13 +1,24 @@
 package com.article.backend;
 
+import com.article.backend.config.ImageProcessingConfig;
 import com.article.backend.controller.ArticleController;
 import com.article.backend.handler.CustomExceptionHandler;
 import com.article.backend.model.Article;
+import com.article.backend.model.ArticleSummary;
 import com.article.backend.model.ArticleTag;
+import com.article.backend.model.ArticleVersion;
+import com.article.backend.model.CursorPage;
+import com.article.backend.model.ReducedArticleResult;
+import com.article.backend.model.StatusUpdateResult;
+import com.article.backend.model.Versioned;
 import com.article.backend.model.enums.ArticleCategory;
 import com.article.backend.model.enums.ArticleStatus;
+import com.article.backend.model.enums.StatusUpdateOutcome;
 import com.article.backend.service.ArticleService;
+import com.article.backend.service.impl.ImageIngestServiceImpl;
+import com.article.backend.service.metrics.ImageMetrics;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ValidationException;
 import org.apache.commons.io.IOUtils;
@@ -25,22 +36,36 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.mock.web.MockPart;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 
 @Import(ArticleController.class)
-@ContextConfiguration(classes = {ArticleService.class, CustomExceptionHandler.class})
+@ContextConfiguration(classes = {ArticleService.class, ImageIngestServiceImpl.class, ImageProcessingConfig.class,
+        ImageMetrics.class, SimpleMeterRegistry.class, CustomExceptionHandler.class})
 @WebMvcTest(controllers = ArticleController.class, excludeAutoConfiguration = {SecurityAutoConfiguration.class})
 @ExtendWith(MockitoExtension.class)
 class ArticleControllerTest {
@@ -59,6 +84,10 @@ class ArticleControllerTest {
     private Article validNotApprovedArticleResponse;
     private Article validArticleResponse;
     private Article validArticleResponseWithTag;
+    private ReducedArticleResult validReducedArticleResult;
+    private ReducedArticleResult validReducedArticleResultWithTag;
+    private ArticleSummary validArticleSummary;
+    private ArticleSummary validApprovedArticleSummary;
 
     @BeforeEach
     public void init() {
@@ -105,6 +134,12 @@ class ArticleControllerTest {
 
         validArticleResponseWithTag.setTags(Collections.singletonList(validArticleTag));
         validArticleResponseWithTag.setImages(new ArrayList<>());
+
+        validReducedArticleResult = new ReducedArticleResult(1L, "title", "subTitle", ArticleCategory.SPORT, null);
+        validReducedArticleResultWithTag = new ReducedArticleResult(2L, "title", "subTitle", ArticleCategory.SPORT, validArticleTag);
+
+        validArticleSummary = new ArticleSummary(1L, "title", "subTitle", ArticleCategory.SPORT, ArticleStatus.APPROVED);
+        validApprovedArticleSummary = new ArticleSummary(2L, "title", "subTitle", ArticleCategory.SPORT, ArticleStatus.APPROVED);
     }
 
     @Test
@@ -181,7 +216,7 @@ class ArticleControllerTest {
 
     @Test
     void saveArticle_WhenGivenArticleIsValidAndStatusIsNull_ExpectedOk() throws Exception {
-        when(articleService.saveArticle(nullable(Article.class))).thenReturn(validNotApprovedArticleResponse);
+        when(articleService.saveArticle(nullable(Article.class), anyList())).thenReturn(validNotApprovedArticleResponse);
 
         validArticleRequest.setStatus(null);
         MockPart articlePart = new MockPart("article", objectMapper.writeValueAsString(validArticleRequest).getBytes(StandardCharsets.UTF_8));
@@ -195,7 +230,7 @@ class ArticleControllerTest {
 
     @Test
     void saveArticle_WhenGivenArticleIsValidAndStatusIsApproved_ExpectedOk() throws Exception {
-        when(articleService.saveArticle(nullable(Article.class))).thenReturn(validNotApprovedArticleResponse);
+        when(articleService.saveArticle(nullable(Article.class), anyList())).thenReturn(validNotApprovedArticleResponse);
 
         validArticleRequest.setStatus(ArticleStatus.APPROVED);
         MockPart articlePart = new MockPart("article", objectMapper.writeValueAsString(validArticleRequest).getBytes(StandardCharsets.UTF_8));
@@ -365,10 +400,57 @@ class ArticleControllerTest {
         response.andExpect(MockMvcResultMatchers.status().isOk());
     }
 
+    @Test
+    void updateStatuses_WhenIdsGiven_ExpectedOkAndOutcomePerId() throws Exception {
+        when(articleService.updateStatus(List.of(1L, 2L, 3L), ArticleStatus.AWAITING_APPROVAL, null, ArticleStatus.APPROVED))
+                .thenReturn(List.of(new StatusUpdateResult(1L, StatusUpdateOutcome.UPDATED),
+                        new StatusUpdateResult(2L, StatusUpdateOutcome.SKIPPED),
+                        new StatusUpdateResult(3L, StatusUpdateOutcome.NOT_FOUND)));
+
+        String expectedContent = "[{\"id\":1,\"outcome\":\"UPDATED\"},{\"id\":2,\"outcome\":\"SKIPPED\"}," +
+                "{\"id\":3,\"outcome\":\"NOT_FOUND\"}]";
+
+        ResultActions response = mockMvc.perform(put("/article/update-status/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1,2,3],\"currentStatus\":\"AWAITING_APPROVAL\",\"status\":\"APPROVED\"}"));
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().string(expectedContent));
+    }
+
+    @Test
+    void updateStatuses_WhenOnlyFilterGiven_ExpectedOkAndFilteredUpdate() throws Exception {
+        when(articleService.updateStatus(ArticleStatus.AWAITING_APPROVAL, ArticleCategory.SPORT, ArticleStatus.APPROVED, 1000))
+                .thenReturn(List.of(new StatusUpdateResult(1L, StatusUpdateOutcome.UPDATED)));
+
+        ResultActions response = mockMvc.perform(put("/article/update-status/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"currentStatus\":\"AWAITING_APPROVAL\",\"category\":\"SPORT\",\"status\":\"APPROVED\"}"));
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].outcome").value("UPDATED"));
+    }
+
+    @Test
+    void updateStatuses_WhenNeitherIdsNorFilterGiven_ExpectedValidationExceptionWithBadRequestStatus() throws Exception {
+        ResultActions response = mockMvc.perform(put("/article/update-status/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"APPROVED\"}"));
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ValidationException));
+    }
+
+    @Test
+    void updateStatuses_WhenStatusIsMissing_ExpectedBadRequest() throws Exception {
+        ResultActions response = mockMvc.perform(put("/article/update-status/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1]}"));
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verify(articleService, never()).updateStatus(any(), any(), any(), any());
+    }
+
     @Test
     void search_WhenEmptyRequest_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(nullable(String.class), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), nullable(String.class)))
-                .thenReturn(Collections.singletonList(validArticleResponse));
+        when(articleService.search(nullable(String.class), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), nullable(String.class)))
+                .thenReturn(Collections.singletonList(validReducedArticleResult));
 
         String expectedContent = "[{\"id\":1,\"title\":\"title\",\"subTitle\":\"subTitle\",\"category\":\"SPORT\",\"tag\":null}]";
 
@@ -380,8 +462,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenValidRequest_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll("title", ArticleCategory.SPORT, ArticleStatus.APPROVED, "#tag"))
-                .thenReturn(Collections.singletonList(validArticleResponseWithTag));
+        when(articleService.search("title", ArticleCategory.SPORT, ArticleStatus.APPROVED, "#tag"))
+                .thenReturn(Collections.singletonList(validReducedArticleResultWithTag));
 
         String expectedContent = "[{\"id\":2,\"title\":\"title\",\"subTitle\":\"subTitle\",\"category\":\"SPORT\",\"tag\":{\"id\":1,\"tag\":\"#tag\"}}]";
 
@@ -394,10 +476,26 @@ class ArticleControllerTest {
                 .andExpect(content().string(expectedContent));
     }
 
+    @Test
+    void search_WhenQueryGiven_ExpectedOkAndFullTextSearchResults() throws Exception {
+        when(articleService.fullTextSearch("magyar foci", null, ArticleCategory.SPORT, null))
+                .thenReturn(Collections.singletonList(validReducedArticleResult));
+
+        String expectedContent = "[{\"id\":1,\"title\":\"title\",\"subTitle\":\"subTitle\",\"category\":\"SPORT\",\"tag\":null}]";
+
+        ResultActions response = mockMvc.perform(get("/article/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .param("q", "magyar foci")
+                .param("category", ArticleCategory.SPORT.toString()));
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().string(expectedContent));
+        verify(articleService, never()).search(any(), any(), any(), any());
+    }
+
     @Test
     void search_WhenValidRequestAndApprovedStatusNotFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll("title", ArticleCategory.SPORT, ArticleStatus.AWAITING_APPROVAL, "#tag"))
-                .thenReturn(Collections.singletonList(validArticleResponseWithTag));
+        when(articleService.search("title", ArticleCategory.SPORT, ArticleStatus.AWAITING_APPROVAL, "#tag"))
+                .thenReturn(Collections.singletonList(validReducedArticleResultWithTag));
 
         ResultActions response = mockMvc.perform(get("/article/search")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -410,8 +508,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenCategoryFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(nullable(String.class), eq(ArticleCategory.SPORT), eq(ArticleStatus.APPROVED), nullable(String.class)))
-                .thenReturn(Collections.singletonList(validArticleResponse));
+        when(articleService.search(nullable(String.class), eq(ArticleCategory.SPORT), eq(ArticleStatus.APPROVED), nullable(String.class)))
+                .thenReturn(Collections.singletonList(validReducedArticleResult));
 
         String expectedContent = "[{\"id\":1,\"title\":\"title\",\"subTitle\":\"subTitle\",\"category\":\"SPORT\",\"tag\":null}]";
 
@@ -424,8 +522,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenCategoryNotFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(nullable(String.class), eq(ArticleCategory.SPORT), eq(ArticleStatus.APPROVED), nullable(String.class)))
-                .thenReturn(Collections.singletonList(validArticleResponse));
+        when(articleService.search(nullable(String.class), eq(ArticleCategory.SPORT), eq(ArticleStatus.APPROVED), nullable(String.class)))
+                .thenReturn(Collections.singletonList(validReducedArticleResult));
 
         ResultActions response = mockMvc.perform(get("/article/search")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -436,8 +534,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenTagFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(nullable(String.class), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), eq("#tag")))
-                .thenReturn(Collections.singletonList(validArticleResponseWithTag));
+        when(articleService.search(nullable(String.class), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), eq("#tag")))
+                .thenReturn(Collections.singletonList(validReducedArticleResultWithTag));
 
         String expectedContent = "[{\"id\":2,\"title\":\"title\",\"subTitle\":\"subTitle\",\"category\":\"SPORT\",\"tag\":{\"id\":1,\"tag\":\"#tag\"}}]";
 
@@ -450,8 +548,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenTagNotFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(nullable(String.class), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), eq("#tag")))
-                .thenReturn(Collections.singletonList(validArticleResponseWithTag));
+        when(articleService.search(nullable(String.class), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), eq("#tag")))
+                .thenReturn(Collections.singletonList(validReducedArticleResultWithTag));
 
         ResultActions response = mockMvc.perform(get("/article/search")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -471,8 +569,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenTitleFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(eq("title"), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), nullable(String.class)))
-                .thenReturn(Collections.singletonList(validArticleResponse));
+        when(articleService.search(eq("title"), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), nullable(String.class)))
+                .thenReturn(Collections.singletonList(validReducedArticleResult));
 
         String expectedContent = "[{\"id\":1,\"title\":\"title\",\"subTitle\":\"subTitle\",\"category\":\"SPORT\",\"tag\":null}]";
 
@@ -485,8 +583,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenTitleNotFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(eq("title"), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), nullable(String.class)))
-                .thenReturn(Collections.singletonList(validArticleResponse));
+        when(articleService.search(eq("title"), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), nullable(String.class)))
+                .thenReturn(Collections.singletonList(validReducedArticleResult));
 
         ResultActions response = mockMvc.perform(get("/article/search")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -497,8 +595,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenTitleFoundAndCategoryNotFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(eq("title"), eq(ArticleCategory.SPORT), eq(ArticleStatus.APPROVED), nullable(String.class)))
-                .thenReturn(Collections.singletonList(validArticleResponse));
+        when(articleService.search(eq("title"), eq(ArticleCategory.SPORT), eq(ArticleStatus.APPROVED), nullable(String.class)))
+                .thenReturn(Collections.singletonList(validReducedArticleResult));
 
         ResultActions response = mockMvc.perform(get("/article/search")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -510,8 +608,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenTagFoundAndTitleNotFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll("title", ArticleCategory.SPORT, ArticleStatus.APPROVED, "#tag"))
-                .thenReturn(Collections.singletonList(validArticleResponseWithTag));
+        when(articleService.search("title", ArticleCategory.SPORT, ArticleStatus.APPROVED, "#tag"))
+                .thenReturn(Collections.singletonList(validReducedArticleResultWithTag));
 
         ResultActions response = mockMvc.perform(get("/article/search")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -523,8 +621,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenTitleFoundAndTagIsIncorrect_ExpectedValidationExceptionAndBadRequestStatus() throws Exception {
-        when(articleService.findAll(eq("title"), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), eq("#tag")))
-                .thenReturn(Collections.singletonList(validArticleResponseWithTag));
+        when(articleService.search(eq("title"), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), eq("#tag")))
+                .thenReturn(Collections.singletonList(validReducedArticleResultWithTag));
 
         ResultActions response = mockMvc.perform(get("/article/search")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -536,8 +634,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenTagFoundAndCategoryNotFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(nullable(String.class), eq(ArticleCategory.SPORT), eq(ArticleStatus.APPROVED), eq("#tag")))
-                .thenReturn(Collections.singletonList(validArticleResponseWithTag));
+        when(articleService.search(nullable(String.class), eq(ArticleCategory.SPORT), eq(ArticleStatus.APPROVED), eq("#tag")))
+                .thenReturn(Collections.singletonList(validReducedArticleResultWithTag));
 
         ResultActions response = mockMvc.perform(get("/article/search")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -549,8 +647,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenTitleFoundAndTagNotFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(eq("title"), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), eq("#tag")))
-                .thenReturn(Collections.singletonList(validArticleResponseWithTag));
+        when(articleService.search(eq("title"), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), eq("#tag")))
+                .thenReturn(Collections.singletonList(validReducedArticleResultWithTag));
 
         ResultActions response = mockMvc.perform(get("/article/search")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -562,8 +660,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenTagAndTitleFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(eq("title"), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), eq("#tag")))
-                .thenReturn(Collections.singletonList(validArticleResponseWithTag));
+        when(articleService.search(eq("title"), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED), eq("#tag")))
+                .thenReturn(Collections.singletonList(validReducedArticleResultWithTag));
 
         String expectedContent = "[{\"id\":2,\"title\":\"title\",\"subTitle\":\"subTitle\",\"category\":\"SPORT\",\"tag\":{\"id\":1,\"tag\":\"#tag\"}}]";
 
@@ -577,8 +675,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenTagAndCategoryFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(nullable(String.class), eq(ArticleCategory.SPORT), eq(ArticleStatus.APPROVED), eq("#tag")))
-                .thenReturn(Collections.singletonList(validArticleResponseWithTag));
+        when(articleService.search(nullable(String.class), eq(ArticleCategory.SPORT), eq(ArticleStatus.APPROVED), eq("#tag")))
+                .thenReturn(Collections.singletonList(validReducedArticleResultWithTag));
 
         String expectedContent = "[{\"id\":2,\"title\":\"title\",\"subTitle\":\"subTitle\",\"category\":\"SPORT\",\"tag\":{\"id\":1,\"tag\":\"#tag\"}}]";
 
@@ -592,8 +690,8 @@ class ArticleControllerTest {
 
     @Test
     void search_WhenTheGivenTitleAndCategoryFound_ExpectedOkAndMatchingContent() throws Exception {
-        when(articleService.findAll(eq("title"), eq(ArticleCategory.SPORT), eq(ArticleStatus.APPROVED), nullable(String.class)))
-                .thenReturn(Collections.singletonList(validArticleResponse));
+        when(articleService.search(eq("title"), eq(ArticleCategory.SPORT), eq(ArticleStatus.APPROVED), nullable(String.class)))
+                .thenReturn(Collections.singletonList(validReducedArticleResult));
 
         String expectedContent = "[{\"id\":1,\"title\":\"title\",\"subTitle\":\"subTitle\",\"category\":\"SPORT\",\"tag\":null}]";
 
@@ -604,4 +702,166 @@ class ArticleControllerTest {
         response.andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(content().string(expectedContent));
     }
+
+    @Test
+    void getApprovedArticle_WhenNoConditionGiven_ExpectedOkWithETagAndLastModified() throws Exception {
+        stubApprovedArticle(new ArticleVersion(1L, 3, Instant.parse("2024-03-01T10:15:30Z")));
+
+        ResultActions response = mockMvc.perform(get("/article/approved-article")
+                .param("id", "1"));
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1-3\""))
+                .andExpect(MockMvcResultMatchers.header().string("Last-Modified", "Fri, 01 Mar 2024 10:15:30 GMT"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void getApprovedArticle_WhenETagMatches_ExpectedNotModifiedWithoutLoadingArticle() throws Exception {
+        stubApprovedArticle(new ArticleVersion(1L, 3, Instant.parse("2024-03-01T10:15:30Z")));
+
+        ResultActions response = mockMvc.perform(get("/article/approved-article")
+                .param("id", "1")
+                .header("If-None-Match", "\"1-3\""));
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getApprovedArticle_WhenETagIsOutdated_ExpectedOkAndMatchingContent() throws Exception {
+        stubApprovedArticle(new ArticleVersion(1L, 4, Instant.parse("2024-03-01T10:15:30Z")));
+
+        ResultActions response = mockMvc.perform(get("/article/approved-article")
+                .param("id", "1")
+                .header("If-None-Match", "\"1-3\""));
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1-4\""));
+    }
+
+    @Test
+    void getApprovedArticle_WhenNotModifiedSince_ExpectedNotModified() throws Exception {
+        stubApprovedArticle(new ArticleVersion(1L, 3, Instant.parse("2024-03-01T10:15:30Z")));
+
+        ResultActions response = mockMvc.perform(get("/article/approved-article")
+                .param("id", "1")
+                .header("If-Modified-Since", "Fri, 01 Mar 2024 10:15:30 GMT"));
+        response.andExpect(MockMvcResultMatchers.status().isNotModified());
+    }
+
+    @Test
+    void listApprovedArticles_WhenETagMatches_ExpectedNotModifiedWithoutLoadingPage() throws Exception {
+        stubApprovedArticles(null, 20,
+                new CursorPage<>(List.of(new ArticleVersion(1L, 3, Instant.parse("2024-03-01T10:15:30Z"))), null),
+                new CursorPage<>(Collections.singletonList(validArticleSummary), null));
+
+        String eTag = mockMvc.perform(get("/article/all-approved"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/article/all-approved").header("If-None-Match", eTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+    }
+
+    @Test
+    void exportArticles_WhenNdjsonAccepted_ExpectedOneLinePerArticle() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ArticleSummary> consumer = invocation.getArgument(1);
+            consumer.accept(validArticleSummary);
+            consumer.accept(validApprovedArticleSummary);
+            return null;
+        }).when(articleService).exportArticles(eq(null), any());
+
+        String expectedContent = objectMapper.writeValueAsString(validArticleSummary) + "\n" +
+                objectMapper.writeValueAsString(validApprovedArticleSummary) + "\n";
+
+        MvcResult result = mockMvc.perform(get("/article/all").accept("application/x-ndjson"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(expectedContent));
+        verify(articleService, never()).listArticles(any(), any(Integer.class));
+    }
+
+    @Test
+    void exportArticles_WhenStatusGiven_ExpectedOnlyArticlesWithStatusExported() throws Exception {
+        MvcResult result = mockMvc.perform(get("/article/all")
+                        .accept("application/x-ndjson")
+                        .param("status", "APPROVED"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().string(""));
+        verify(articleService, times(1)).exportArticles(eq(ArticleStatus.APPROVED), any());
+    }
+
+    @Test
+    void listApprovedArticles_WhenNoCursorGiven_ExpectedOkAndFirstPage() throws Exception {
+        stubApprovedArticles(null, 20,
+                new CursorPage<>(List.of(new ArticleVersion(1L, 0, Instant.now())), "aWQ6MQ"),
+                new CursorPage<>(Collections.singletonList(validArticleSummary), "aWQ6MQ"));
+
+        ResultActions response = mockMvc.perform(get("/article/all-approved")
+                .contentType(MediaType.APPLICATION_JSON));
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].id").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value("aWQ6MQ"));
+    }
+
+    @Test
+    void listApprovedArticles_WhenCursorGiven_ExpectedOkAndLastPage() throws Exception {
+        stubApprovedArticles("aWQ6MQ", 1,
+                new CursorPage<>(List.of(new ArticleVersion(2L, 0, Instant.now())), null),
+                new CursorPage<>(Collections.singletonList(validApprovedArticleSummary), null));
+
+        ResultActions response = mockMvc.perform(get("/article/all-approved")
+                .contentType(MediaType.APPLICATION_JSON)
+                .param("cursor", "aWQ6MQ")
+                .param("limit", "1"));
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].id").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    void listApprovedArticles_WhenLimitIsTooLarge_ExpectedValidationExceptionWithBadRequestStatus() throws Exception {
+        ResultActions response = mockMvc.perform(get("/article/all-approved")
+                .contentType(MediaType.APPLICATION_JSON)
+                .param("limit", "101"));
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ValidationException));
+    }
+
+    @Test
+    void search_WhenFieldsGiven_ExpectedOkAndMatchingContent() throws Exception {
+        Map<String, Object> sparseResult = new LinkedHashMap<>();
+        sparseResult.put("id", 1);
+        sparseResult.put("title", "title");
+        when(articleService.search(nullable(String.class), nullable(ArticleCategory.class), eq(ArticleStatus.APPROVED),
+                nullable(String.class), eq(List.of("id", "title"))))
+                .thenReturn(Collections.singletonList(sparseResult));
+
+        ResultActions response = mockMvc.perform(get("/article/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .param("fields", "id,title"));
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().string("[{\"id\":1,\"title\":\"title\"}]"));
+    }
+
+    // the service loads the content only when the conditional request of the controller does not match the version
+    private void stubApprovedArticle(ArticleVersion version) {
+        when(articleService.getArticleIfModified(eq(1L), eq(ArticleStatus.APPROVED), any())).thenAnswer(invocation -> {
+            Predicate<ArticleVersion> modified = invocation.getArgument(2);
+            return new Versioned<>(version, modified.test(version) ? validArticleResponse : null);
+        });
+    }
+
+    private void stubApprovedArticles(String cursor, int limit, CursorPage<ArticleVersion> versions,
+                                      CursorPage<ArticleSummary> page) {
+        when(articleService.listArticlesByStatusIfModified(eq(ArticleStatus.APPROVED), eq(cursor), eq(limit), any()))
+                .thenAnswer(invocation -> {
+                    Predicate<CursorPage<ArticleVersion>> modified = invocation.getArgument(3);
+                    return new Versioned<>(versions, modified.test(versions) ? page : null);
+                });
+    }
 }
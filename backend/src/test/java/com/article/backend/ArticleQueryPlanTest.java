@@ -0,0 +1,161 @@
+package com.article.backend;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// runs EXPLAIN for the hot queries against an in-memory h2 database in mysql mode, migrated by the master changelog
+// and filled with the load test data, or against a MySQL database migrated by liquibase, for example the docker
+// compose one:
+// mvn test -Dtest=ArticleQueryPlanTest -Dquery-plan.url=jdbc:mysql://localhost:23315/articles
+class ArticleQueryPlanTest {
+
+    private static final String H2_URL = "jdbc:h2:mem:query-plan;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1";
+    private static final int H2_ARTICLES = 5000;
+    private static final int H2_TAGS = 200;
+
+    // below this size MySQL may rightly prefer reading the whole table, only the usable indexes are checked then
+    private static final int MIN_ROWS_FOR_INDEX_ACCESS = 1000;
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void connect() throws Exception {
+        String url = System.getProperty("query-plan.url");
+        if (url == null || url.isBlank()) {
+            connection = DriverManager.getConnection(H2_URL, "sa", "");
+            migrate();
+            return;
+        }
+        connection = DriverManager.getConnection(url,
+                System.getProperty("query-plan.username", "articles"),
+                System.getProperty("query-plan.password", "articles"));
+    }
+
+    private static void migrate() throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(new SingleConnectionDataSource(connection, true));
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.setChangeLog("classpath:config/liquibase/load-test.xml");
+        liquibase.setChangeLogParameters(Map.of("articleCount", String.valueOf(H2_ARTICLES),
+                "tagCount", String.valueOf(H2_TAGS)));
+        liquibase.afterPropertiesSet();
+        // the h2 optimizer only knows the selectivity of the columns after an analyze
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void disconnect() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void listArticlesByStatus_WhenExplained_ExpectedStatusIndex() throws SQLException {
+        assertIndexUsed("SELECT id, title, sub_title, category, status FROM article " +
+                        "WHERE status = ? AND id > ? ORDER BY id LIMIT 21",
+                "article", "article_status_IDX", "APPROVED", 0);
+    }
+
+    @Test
+    void searchByCategory_WhenExplained_ExpectedStatusCategoryIndex() throws SQLException {
+        assertIndexUsed("SELECT id, title, sub_title, category FROM article " +
+                        "WHERE status = ? AND category = ? ORDER BY id",
+                "article", "article_status_category_IDX", "APPROVED", "SPORT");
+    }
+
+    @Test
+    void searchByTitle_WhenExplained_ExpectedTitleIndex() throws SQLException {
+        assertIndexUsed("SELECT id, title, sub_title, category FROM article " +
+                        "WHERE title = ? AND status = ? ORDER BY id",
+                "article", "article_title_IDX", "title", "APPROVED");
+    }
+
+    @Test
+    void searchByTag_WhenExplained_ExpectedTagIndex() throws SQLException {
+        assertIndexUsed("SELECT a.id, a.title, a.sub_title, a.category, t.id, d.tag FROM article a " +
+                        "JOIN article_tag t ON a.id = t.article_id JOIN tag d ON d.id = t.tag_id " +
+                        "WHERE t.tag_id = ? AND a.status = ? ORDER BY a.id",
+                "t", "article_tag_tag_article_IDX", 1, "APPROVED");
+    }
+
+    @Test
+    void findFirstByTagAndArticleId_WhenExplained_ExpectedArticleTagUniqueKey() throws SQLException {
+        // the pair is unique, its constraint answers the duplicate check as well as the tag index
+        assertIndexUsed("SELECT id, article_id, tag_id FROM article_tag WHERE tag_id = ? AND article_id = ? LIMIT 1",
+                "article_tag", "article_tag_article_tag_id_UN", 1, 1);
+    }
+
+    private void assertIndexUsed(String sql, String table, String index, Object... parameters) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (isH2()) {
+                    assertTrue(resultSet.next(), "No plan for " + sql);
+                    assertH2IndexUsed(sql, table, index, resultSet.getString(1));
+                    return;
+                }
+                while (resultSet.next()) {
+                    String possibleKeys = resultSet.getString("possible_keys");
+                    plan.add(resultSet.getString("table") + " " + resultSet.getString("type") + " " + possibleKeys +
+                            " " + resultSet.getString("key"));
+                    if (!table.equals(resultSet.getString("table"))) {
+                        continue;
+                    }
+                    assertTrue(possibleKeys != null && Arrays.asList(possibleKeys.split(",")).contains(index),
+                            index + " is not usable for " + sql + ", plan: " + plan);
+                    if (resultSet.getLong("rows") >= MIN_ROWS_FOR_INDEX_ACCESS) {
+                        assertNotEquals("ALL", resultSet.getString("type"), "Full scan of " + table + " in " + plan);
+                    }
+                    return;
+                }
+            }
+        }
+        fail(table + " is missing from the plan " + plan);
+    }
+
+    // h2 explains a query as the query itself, with the access path of every table in a comment after its name:
+    // FROM "PUBLIC"."ARTICLE" /* PUBLIC.ARTICLE_STATUS_IDX: STATUS = ?1 */
+    private void assertH2IndexUsed(String sql, String table, String index, String plan) {
+        String upperPlan = plan.toUpperCase(Locale.ROOT);
+        String upperTable = "\"" + table.toUpperCase(Locale.ROOT) + "\"";
+        int tableAt = upperPlan.indexOf(upperTable + " /*");
+        if (tableAt < 0) {
+            tableAt = upperPlan.indexOf(upperTable + "\n    /*");
+        }
+        if (tableAt < 0) {
+            fail(table + " is missing from the plan " + plan);
+        }
+        int commentAt = upperPlan.indexOf("/*", tableAt);
+        String accessPath = upperPlan.substring(commentAt, upperPlan.indexOf("*/", commentAt));
+        assertTrue(accessPath.contains("." + index.toUpperCase(Locale.ROOT)),
+                index + " is not used for " + sql + ", plan: " + plan);
+    }
+
+    private boolean isH2() throws SQLException {
+        return "H2".equals(connection.getMetaData().getDatabaseProductName());
+    }
+}
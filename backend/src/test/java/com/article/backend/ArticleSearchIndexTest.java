@@ -0,0 +1,104 @@
+package com.article.backend;
+
+import com.article.backend.model.Article;
+import com.article.backend.model.ArticleTag;
+import com.article.backend.model.enums.ArticleCategory;
+import com.article.backend.model.enums.ArticleStatus;
+import com.article.backend.service.search.ArticleSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArticleSearchIndexTest {
+
+    private final ArticleSearchIndex searchIndex = new ArticleSearchIndex();
+
+    @Test
+    void search_WhenQueryHasDifferentCaseAndAccents_ExpectedMatchingArticle() {
+        searchIndex.index(article(1L, "Őszi szünet", "Az iskolák bezárnak", "Öt napig tart.", ArticleCategory.SPORT));
+
+        assertEquals(List.of(1L), searchIndex.search("OSZI", null, null, 10));
+        assertEquals(List.of(1L), searchIndex.search("ot napig", null, null, 10));
+        assertEquals(List.of(1L), searchIndex.search("iskolák", null, null, 10));
+    }
+
+    @Test
+    void search_WhenOnlyStopWordsGiven_ExpectedEmptyResult() {
+        searchIndex.index(article(1L, "A meccs", "Egy gól", "Az eredmény.", ArticleCategory.SPORT));
+
+        assertTrue(searchIndex.search("a az egy", null, null, 10).isEmpty());
+    }
+
+    @Test
+    void search_WhenNotEveryTermMatches_ExpectedArticleSkipped() {
+        searchIndex.index(article(1L, "Magyar foci", "Válogatott", "Győzelem.", ArticleCategory.SPORT));
+        searchIndex.index(article(2L, "Magyar kosárlabda", "Bajnokság", "Vereség.", ArticleCategory.SPORT));
+
+        assertEquals(List.of(1L), searchIndex.search("magyar foci", null, null, 10));
+    }
+
+    @Test
+    void search_WhenTermInTitle_ExpectedRankedAboveTermInContent() {
+        searchIndex.index(article(1L, "Hírek", "Röviden", "A választás eredménye.", ArticleCategory.SPORT));
+        searchIndex.index(article(2L, "Választás", "Röviden", "Az eredmények.", ArticleCategory.SPORT));
+
+        assertEquals(List.of(2L, 1L), searchIndex.search("választás", null, null, 10));
+    }
+
+    @Test
+    void search_WhenTermsFormPhrase_ExpectedRankedAbovePhraseWithGap() {
+        searchIndex.index(article(1L, "Hírek", "Röviden", "Foci ma este, magyar idő szerint.", ArticleCategory.SPORT));
+        searchIndex.index(article(2L, "Hírek", "Röviden", "Idő szerint ma este magyar foci.", ArticleCategory.SPORT));
+
+        assertEquals(List.of(2L, 1L), searchIndex.search("magyar foci", null, null, 10));
+    }
+
+    @Test
+    void search_WhenCategoryAndTagGiven_ExpectedFilteredResult() {
+        Article tagged = article(1L, "Foci", "Röviden", "Eredmények.", ArticleCategory.SPORT);
+        tagged.getTags().add(ArticleTag.of(1L, "#bajnoksag"));
+        searchIndex.index(tagged);
+        searchIndex.index(article(2L, "Foci", "Röviden", "Eredmények.", ArticleCategory.SPORT));
+
+        assertEquals(List.of(1L), searchIndex.search("foci", ArticleCategory.SPORT, "#bajnoksag", 10));
+        assertEquals(List.of(1L), searchIndex.search("bajnoksag", null, null, 10));
+        assertEquals(List.of(2L, 1L), searchIndex.search("foci", ArticleCategory.SPORT, null, 10));
+    }
+
+    @Test
+    void search_WhenTagHasDifferentCaseAndAccents_ExpectedMatchingArticle() {
+        Article tagged = article(1L, "Foci", "Röviden", "Eredmények.", ArticleCategory.SPORT);
+        tagged.getTags().add(ArticleTag.of(1L, "#Bajnokság"));
+        searchIndex.index(tagged);
+
+        assertEquals(List.of(1L), searchIndex.search("foci", null, "#bajnoksag", 10));
+        assertEquals(List.of(1L), searchIndex.search("foci", null, "#BAJNOKSÁG", 10));
+    }
+
+    @Test
+    void index_WhenArticleReindexedOrRemoved_ExpectedOldTermsForgotten() {
+        searchIndex.index(article(1L, "Régi cím", "Röviden", "Tartalom.", ArticleCategory.SPORT));
+        searchIndex.index(article(1L, "Új cím", "Röviden", "Tartalom.", ArticleCategory.SPORT));
+
+        assertTrue(searchIndex.search("régi", null, null, 10).isEmpty());
+        assertEquals(List.of(1L), searchIndex.search("új", null, null, 10));
+
+        searchIndex.remove(1L);
+
+        assertTrue(searchIndex.search("cím", null, null, 10).isEmpty());
+    }
+
+    private Article article(Long id, String title, String subTitle, String content, ArticleCategory category) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setSubTitle(subTitle);
+        article.setContent(content);
+        article.setCategory(category);
+        article.setStatus(ArticleStatus.APPROVED);
+        return article;
+    }
+}
@@ -0,0 +1,68 @@
+package com.article.backend;
+
+import com.article.backend.model.Article;
+import com.article.backend.model.ArticleVersion;
+import com.article.backend.model.Versioned;
+import com.article.backend.model.enums.ArticleStatus;
+import com.article.backend.repository.ArticleRepository;
+import com.article.backend.service.impl.ArticleServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleServiceTest {
+
+    @Mock
+    private ArticleRepository repository;
+
+    @InjectMocks
+    private ArticleServiceImpl articleService;
+
+    private final ArticleVersion version = new ArticleVersion(1L, 3, Instant.parse("2024-03-01T10:15:30Z"));
+
+    @Test
+    void getArticleIfModified_WhenNotModified_ExpectedVersionWithoutLoadingArticle() {
+        when(repository.findByIdAndStatus(1L, ArticleStatus.APPROVED, ArticleVersion.class)).thenReturn(Optional.of(version));
+
+        Versioned<ArticleVersion, Article> article = articleService.getArticleIfModified(1L, ArticleStatus.APPROVED,
+                articleVersion -> false);
+
+        assertEquals(version, article.getVersion());
+        assertNull(article.getContent());
+        verify(repository, never()).findArticleByIdAndStatus(any(), any());
+    }
+
+    @Test
+    void getArticleIfModified_WhenModified_ExpectedVersionAndArticle() {
+        Article stored = new Article();
+        stored.setId(1L);
+        when(repository.findByIdAndStatus(1L, ArticleStatus.APPROVED, ArticleVersion.class)).thenReturn(Optional.of(version));
+        when(repository.findArticleByIdAndStatus(1L, ArticleStatus.APPROVED)).thenReturn(Optional.of(stored));
+
+        Versioned<ArticleVersion, Article> article = articleService.getArticleIfModified(1L, ArticleStatus.APPROVED,
+                articleVersion -> true);
+
+        assertEquals(version, article.getVersion());
+        assertEquals(stored, article.getContent());
+    }
+
+    @Test
+    void getArticleIfModified_WhenArticleNotFound_ExpectedNull() {
+        when(repository.findByIdAndStatus(1L, ArticleStatus.APPROVED, ArticleVersion.class)).thenReturn(Optional.empty());
+
+        assertNull(articleService.getArticleIfModified(1L, ArticleStatus.APPROVED, articleVersion -> true));
+    }
+}
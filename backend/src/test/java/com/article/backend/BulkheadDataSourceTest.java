@@ -0,0 +1,80 @@
+package com.article.backend;
+
+import com.article.backend.config.BulkheadDataSource;
+import com.article.backend.exception.ServiceBusyException;
+import com.article.backend.util.Bulkhead;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private BulkheadDataSource dataSource;
+
+    @BeforeEach
+    public void init() {
+        dataSource = new BulkheadDataSource(targetDataSource, new Bulkhead(1, Duration.ZERO, "busy"));
+    }
+
+    @Test
+    void getConnection_WhenAllPermitsTaken_ExpectedServiceBusyException() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+
+        assertNotNull(dataSource.getConnection());
+        assertThrows(ServiceBusyException.class, () -> dataSource.getConnection());
+        verify(targetDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_WhenConnectionClosed_ExpectedPermitReleasedOnce() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        verify(connection, times(2)).close();
+        assertThrows(ServiceBusyException.class, () -> dataSource.getConnection());
+        second.close();
+    }
+
+    @Test
+    void getConnection_WhenTargetFails_ExpectedPermitReleased() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("down")).thenReturn(connection);
+
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_WhenConnectionUsed_ExpectedCallsAndExceptionsDelegated() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        doThrow(new SQLException("closed")).when(connection).commit();
+
+        Connection proxy = dataSource.getConnection();
+
+        assertTrue(proxy.getAutoCommit());
+        assertThrows(SQLException.class, proxy::commit);
+    }
+}
@@ -0,0 +1,88 @@
+package com.article.backend;
+
+import com.article.backend.config.CachingPasswordEncoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    @Mock
+    private Clock clock;
+
+    private CachingPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void init() {
+        passwordEncoder = new CachingPasswordEncoder(delegate, Duration.ofMinutes(5), 2, clock);
+    }
+
+    @Test
+    void matches_WhenSameCredentialsWithinTimeToLive_ExpectedCheckedOnce() {
+        when(clock.millis()).thenReturn(0L, 1000L);
+        when(delegate.matches("password", "hash")).thenReturn(true);
+
+        assertTrue(passwordEncoder.matches("password", "hash"));
+        assertTrue(passwordEncoder.matches("password", "hash"));
+        verify(delegate, times(1)).matches("password", "hash");
+    }
+
+    @Test
+    void matches_WhenTimeToLivePassed_ExpectedCheckedAgain() {
+        when(clock.millis()).thenReturn(0L, Duration.ofMinutes(5).toMillis());
+        when(delegate.matches("password", "hash")).thenReturn(true);
+
+        assertTrue(passwordEncoder.matches("password", "hash"));
+        assertTrue(passwordEncoder.matches("password", "hash"));
+        verify(delegate, times(2)).matches("password", "hash");
+    }
+
+    @Test
+    void matches_WhenPasswordIsWrong_ExpectedCheckedEveryTime() {
+        when(clock.millis()).thenReturn(0L);
+        when(delegate.matches("wrong", "hash")).thenReturn(false);
+
+        assertFalse(passwordEncoder.matches("wrong", "hash"));
+        assertFalse(passwordEncoder.matches("wrong", "hash"));
+        verify(delegate, times(2)).matches("wrong", "hash");
+    }
+
+    @Test
+    void matches_WhenStoredHashChanged_ExpectedCheckedAgain() {
+        when(clock.millis()).thenReturn(0L);
+        when(delegate.matches("password", "hash")).thenReturn(true);
+        when(delegate.matches("password", "newHash")).thenReturn(false);
+
+        assertTrue(passwordEncoder.matches("password", "hash"));
+        assertFalse(passwordEncoder.matches("password", "newHash"));
+    }
+
+    @Test
+    void matches_WhenMoreCredentialsThanMaxSize_ExpectedOldestCheckedAgain() {
+        when(clock.millis()).thenReturn(0L);
+        when(delegate.matches(anyString(), eq("hash"))).thenReturn(true);
+
+        passwordEncoder.matches("first", "hash");
+        passwordEncoder.matches("second", "hash");
+        passwordEncoder.matches("third", "hash");
+        passwordEncoder.matches("first", "hash");
+        passwordEncoder.matches("third", "hash");
+
+        verify(delegate, times(2)).matches("first", "hash");
+        verify(delegate, times(1)).matches("third", "hash");
+    }
+}
@@ -0,0 +1,138 @@
+package com.article.backend;
+
+import com.article.backend.model.ImageBlob;
+import com.article.backend.model.ImageUpload;
+import com.article.backend.repository.ImageBlobRepository;
+import com.article.backend.service.ImageVariantService;
+import com.article.backend.service.impl.ImageBlobServiceImpl;
+import com.article.backend.service.storage.ImageStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageBlobServiceTest {
+
+    @Mock
+    private ImageBlobRepository repository;
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @InjectMocks
+    private ImageBlobServiceImpl imageBlobService;
+
+    @Test
+    void acquire_WhenHashIsStored_ExpectedReferenceCountIncrementedWithoutStoring() {
+        ImageBlob existingBlob = blob(1L);
+        when(repository.findByHash("hash")).thenReturn(Optional.of(existingBlob));
+        when(repository.incrementReferenceCount(1L)).thenReturn(1);
+
+        ImageBlob blob = imageBlobService.acquire(new ImageUpload("image.png", new byte[0], "image/png", "hash", 1, 1));
+
+        assertSame(existingBlob, blob);
+        verify(imageVariantService, never()).generateVariants(any());
+        verify(imageStorage, never()).write(any(), any());
+        verify(repository, never()).insert(any());
+    }
+
+    @Test
+    void acquire_WhenHashIsNotStored_ExpectedNormalizedUploadStored() {
+        byte[] content = new byte[]{1, 2, 3};
+        ImageUpload upload = new ImageUpload("image.bmp", content, "image/png", "hash", 2, 1);
+        when(repository.findByHash("hash")).thenReturn(Optional.empty());
+        ArgumentCaptor<ImageBlob> insertedBlob = ArgumentCaptor.forClass(ImageBlob.class);
+        when(repository.insert(insertedBlob.capture())).thenReturn(2L);
+        ImageBlob savedBlob = blob(2L);
+        when(repository.findById(2L)).thenReturn(Optional.of(savedBlob));
+
+        ImageBlob blob = imageBlobService.acquire(upload);
+
+        assertSame(savedBlob, blob);
+        assertEquals("hash", insertedBlob.getValue().getHash());
+        assertEquals("image/png", insertedBlob.getValue().getContentType());
+        assertEquals(3L, insertedBlob.getValue().getSize());
+        assertEquals(2, insertedBlob.getValue().getWidth());
+        assertEquals(1, insertedBlob.getValue().getReferenceCount());
+        verify(imageStorage).write(savedBlob, content);
+        verify(imageVariantService).generateVariants(2L);
+    }
+
+    @Test
+    void acquire_WhenConcurrentUploadStoredSameHash_ExpectedStoredBlobReferenced() {
+        ImageUpload upload = new ImageUpload("image.png", new byte[]{1}, "image/png", "hash", 1, 1);
+        ImageBlob concurrentBlob = blob(3L);
+        when(repository.findByHash("hash")).thenReturn(Optional.empty(), Optional.of(concurrentBlob));
+        when(repository.insert(any(ImageBlob.class))).thenThrow(new DuplicateKeyException("image_blob_hash_UN"));
+        when(repository.incrementReferenceCountByHash("hash")).thenReturn(1);
+
+        ImageBlob blob = imageBlobService.acquire(upload);
+
+        assertSame(concurrentBlob, blob);
+        verify(imageStorage, never()).write(any(), any());
+        verify(imageVariantService, never()).generateVariants(any());
+    }
+
+    @Test
+    void release_WhenBlobIsStillReferenced_ExpectedStorageKept() {
+        ImageBlob blob = blob(1L);
+        when(repository.findReferenceCount(1L)).thenReturn(1);
+
+        imageBlobService.release(blob);
+
+        verify(repository).decrementReferenceCount(1L);
+        verify(imageVariantService, never()).deleteVariants(any());
+        verify(imageStorage, never()).delete(any());
+    }
+
+    @Test
+    void release_WhenLastReferenceIsReleased_ExpectedStorageDeleted() {
+        ImageBlob blob = blob(1L);
+        when(repository.findReferenceCount(1L)).thenReturn(0);
+        when(repository.deleteUnreferenced(1L)).thenReturn(1);
+
+        imageBlobService.release(blob);
+
+        verify(imageVariantService).deleteVariants(blob);
+        verify(imageStorage).delete(blob);
+    }
+
+    @Test
+    void acquireAll_ExpectedBlobsInUploadOrder() {
+        ImageUpload storedUpload = new ImageUpload("stored.png", new byte[0], "image/png", "stored", 1, 1);
+        ImageUpload newUpload = new ImageUpload("new.png", new byte[]{1}, "image/png", "new", 1, 1);
+        ImageBlob storedBlob = blob(1L);
+        ImageBlob newBlob = blob(2L);
+        when(repository.findByHash("stored")).thenReturn(Optional.of(storedBlob));
+        when(repository.incrementReferenceCount(1L)).thenReturn(1);
+        when(repository.findByHash("new")).thenReturn(Optional.empty());
+        when(repository.insert(any(ImageBlob.class))).thenReturn(2L);
+        when(repository.findById(2L)).thenReturn(Optional.of(newBlob));
+
+        List<ImageBlob> blobs = imageBlobService.acquireAll(List.of(storedUpload, newUpload));
+
+        assertEquals(List.of(storedBlob, newBlob), blobs);
+        verify(imageStorage).write(newBlob, newUpload.getContent());
+    }
+
+    private ImageBlob blob(Long id) {
+        ImageBlob blob = new ImageBlob();
+        blob.setId(id);
+        return blob;
+    }
+}
@@ -0,0 +1,225 @@
+package com.article.backend;
+
+import com.article.backend.controller.ImageController;
+import com.article.backend.handler.CustomExceptionHandler;
+import com.article.backend.model.ArticleImageMetadata;
+import com.article.backend.model.ImageBlobLocation;
+import com.article.backend.model.ImageVariantMetadata;
+import com.article.backend.model.enums.ArticleStatus;
+import com.article.backend.service.ArticleImageService;
+import com.article.backend.service.ArticleService;
+import com.article.backend.service.ImageIngestService;
+import com.article.backend.service.ImageVariantService;
+import com.article.backend.service.metrics.ImageMetrics;
+import com.article.backend.service.storage.ImageStorage;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@Import(ImageController.class)
+@ContextConfiguration(classes = {ArticleImageService.class, ArticleService.class, ImageStorage.class, ImageIngestService.class,
+        ImageVariantService.class, CustomExceptionHandler.class})
+@WebMvcTest(controllers = ImageController.class, excludeAutoConfiguration = {SecurityAutoConfiguration.class})
+@ExtendWith(MockitoExtension.class)
+class ImageControllerTest {
+
+    private static final byte[] IMAGE = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ArticleImageService articleImageService;
+
+    @MockBean
+    private ArticleService articleService;
+
+    @MockBean
+    private ImageStorage imageStorage;
+
+    @MockBean
+    private ImageIngestService imageIngestService;
+
+    @MockBean
+    private ImageVariantService imageVariantService;
+
+    @MockBean
+    private ImageMetrics imageMetrics;
+
+    private ArticleImageMetadata approvedImageMetadata;
+    private ArticleImageMetadata notApprovedImageMetadata;
+
+    @BeforeEach
+    public void init() {
+        approvedImageMetadata = imageMetadata(ArticleStatus.APPROVED);
+        notApprovedImageMetadata = imageMetadata(ArticleStatus.AWAITING_APPROVAL);
+
+        lenient().doAnswer(invocation -> {
+            int offset = (int) (long) invocation.getArgument(1);
+            int length = (int) (long) invocation.getArgument(2);
+            invocation.<OutputStream>getArgument(3).write(Arrays.copyOfRange(IMAGE, offset, offset + length));
+            return null;
+        }).when(imageStorage).copy(any(ImageBlobLocation.class), anyLong(), anyLong(), any(OutputStream.class));
+    }
+
+    @Test
+    void getImage_WhenImageNotFound_ExpectedEntityNotFoundExceptionWithNotFoundStatus() throws Exception {
+        when(articleImageService.getArticleImageMetadata(1L)).thenReturn(null);
+
+        mockMvc.perform(get("/image/1"))
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof EntityNotFoundException))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    void getImage_WhenArticleIsNotApprovedAndUserIsAnonymous_ExpectedNotFound() throws Exception {
+        when(articleImageService.getArticleImageMetadata(1L)).thenReturn(notApprovedImageMetadata);
+
+        mockMvc.perform(get("/image/1"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    void getImage_WhenArticleIsNotApprovedAndUserIsAuthenticated_ExpectedOkAndWholeImage() throws Exception {
+        when(articleImageService.getArticleImageMetadata(1L)).thenReturn(notApprovedImageMetadata);
+
+        MvcResult result = mockMvc.perform(get("/image/1").principal(() -> "editor"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().bytes(IMAGE));
+    }
+
+    @Test
+    void getImage_WhenNoRangeGiven_ExpectedOkAndWholeImage() throws Exception {
+        when(articleImageService.getArticleImageMetadata(1L)).thenReturn(approvedImageMetadata);
+
+        MvcResult result = mockMvc.perform(get("/image/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "10"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().bytes(IMAGE));
+    }
+
+    @Test
+    void getImage_WhenRangeGiven_ExpectedPartialContent() throws Exception {
+        when(articleImageService.getArticleImageMetadata(1L)).thenReturn(approvedImageMetadata);
+
+        MvcResult result = mockMvc.perform(get("/image/1").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "4"))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    void getImage_WhenSuffixRangeGiven_ExpectedPartialContent() throws Exception {
+        when(articleImageService.getArticleImageMetadata(1L)).thenReturn(approvedImageMetadata);
+
+        MvcResult result = mockMvc.perform(get("/image/1").header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    void getImage_WhenRangeIsOutOfBounds_ExpectedRequestedRangeNotSatisfiable() throws Exception {
+        when(articleImageService.getArticleImageMetadata(1L)).thenReturn(approvedImageMetadata);
+
+        mockMvc.perform(get("/image/1").header(HttpHeaders.RANGE, "bytes=10-20"))
+                .andExpect(MockMvcResultMatchers.status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    void getImage_WhenWidthGivenAndVariantIsReady_ExpectedVariant() throws Exception {
+        ImageVariantMetadata variant = mock(ImageVariantMetadata.class);
+        when(variant.getContentType()).thenReturn("image/jpeg");
+        when(variant.getSize()).thenReturn(4L);
+        when(articleImageService.getArticleImageMetadata(1L)).thenReturn(approvedImageMetadata);
+        when(imageVariantService.getBestVariant(approvedImageMetadata, 160)).thenReturn(variant);
+
+        MvcResult result = mockMvc.perform(get("/image/1").param("width", "160"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "4"))
+                .andExpect(content().string("0123"));
+        verify(imageStorage).copy(eq(variant), eq(0L), eq(4L), any(OutputStream.class));
+    }
+
+    @Test
+    void getImage_WhenWidthGivenAndVariantIsMissing_ExpectedOriginal() throws Exception {
+        when(articleImageService.getArticleImageMetadata(1L)).thenReturn(approvedImageMetadata);
+        when(imageVariantService.getBestVariant(approvedImageMetadata, 160)).thenReturn(null);
+
+        MvcResult result = mockMvc.perform(get("/image/1").param("width", "160"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(content().bytes(IMAGE));
+    }
+
+    @Test
+    void getImage_WhenWidthIsNotPositive_ExpectedBadRequest() throws Exception {
+        when(articleImageService.getArticleImageMetadata(1L)).thenReturn(approvedImageMetadata);
+
+        mockMvc.perform(get("/image/1").param("width", "0"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    private ArticleImageMetadata imageMetadata(ArticleStatus articleStatus) {
+        ArticleImageMetadata metadata = mock(ArticleImageMetadata.class, withSettings().strictness(Strictness.LENIENT));
+        when(metadata.getContentType()).thenReturn("image/png");
+        when(metadata.getSize()).thenReturn((long) IMAGE.length);
+        when(metadata.getArticleStatus()).thenReturn(articleStatus);
+        return metadata;
+    }
+}
@@ -0,0 +1,208 @@
+package com.article.backend;
+
+import com.article.backend.exception.ImageTooLargeException;
+import com.article.backend.exception.NotAnImageFileException;
+import com.article.backend.exception.ServiceBusyException;
+import com.article.backend.model.ImageContent;
+import com.article.backend.model.ImageUpload;
+import com.article.backend.model.ImageUploads;
+import com.article.backend.service.impl.ImageIngestServiceImpl;
+import com.article.backend.service.metrics.ImageMetrics;
+import com.article.backend.util.Bulkhead;
+import com.article.backend.util.MemoryLimit;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageIngestServiceTest {
+
+    private ImageIngestServiceImpl imageIngestService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private byte[] png;
+
+    @BeforeEach
+    public void init() throws Exception {
+        imageIngestService = new ImageIngestServiceImpl();
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(imageIngestService, "allowedContentTypes", Set.of("image/png", "image/jpeg", "image/gif"));
+        ReflectionTestUtils.setField(imageIngestService, "maxPixels", 40_000_000L);
+        ReflectionTestUtils.setField(imageIngestService, "requestMemoryBudget", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(imageIngestService, "imageMemoryLimit", new MemoryLimit(DataSize.ofMegabytes(1).toBytes(), Duration.ZERO, "busy"));
+        ReflectionTestUtils.setField(imageIngestService, "executor", Executors.newFixedThreadPool(2));
+        ReflectionTestUtils.setField(imageIngestService, "imageBulkhead", new Bulkhead(2, Duration.ofSeconds(5), "busy"));
+        ReflectionTestUtils.setField(imageIngestService, "imageMetrics", new ImageMetrics(meterRegistry));
+        png = IOUtils.toByteArray(getClass().getClassLoader().getResourceAsStream("image.png"));
+    }
+
+    @Test
+    void readUploads_WhenFileIsAnImage_ExpectedContentTypeAndHashFromSinglePass() {
+        List<ImageUpload> uploads = imageIngestService.readUploads(
+                new MockMultipartFile("files", "image.png", MediaType.TEXT_PLAIN_VALUE, png)).getUploads();
+
+        assertEquals(1, uploads.size());
+        assertEquals("image.png", uploads.get(0).getName());
+        assertEquals("image/png", uploads.get(0).getContentType());
+        assertArrayEquals(png, uploads.get(0).getContent());
+        assertEquals(64, uploads.get(0).getHash().length());
+    }
+
+    @Test
+    void readUploads_WhenFileIsNotAnImage_ExpectedNotAnImageFileException() {
+        MockMultipartFile textFile = new MockMultipartFile("files", "image.png", MediaType.IMAGE_PNG_VALUE, "text".getBytes());
+
+        assertThrows(NotAnImageFileException.class, () -> imageIngestService.readUploads(textFile));
+    }
+
+    @Test
+    void readUploads_WhenPixelCountIsTooLarge_ExpectedImageTooLargeException() {
+        ReflectionTestUtils.setField(imageIngestService, "maxPixels", 1L);
+
+        assertThrows(ImageTooLargeException.class, () -> imageIngestService.readUploads(
+                new MockMultipartFile("files", "image.png", MediaType.IMAGE_PNG_VALUE, png)));
+    }
+
+    @Test
+    void readUploads_WhenFilesExceedTheBudget_ExpectedImageTooLargeException() {
+        MockMultipartFile largeFile = new MockMultipartFile("files", "large.png", MediaType.IMAGE_PNG_VALUE,
+                new byte[(int) DataSize.ofMegabytes(1).toBytes()]);
+        MockMultipartFile imageFile = new MockMultipartFile("files", "image.png", MediaType.IMAGE_PNG_VALUE, png);
+
+        assertThrows(ImageTooLargeException.class, () -> imageIngestService.readUploads(largeFile, imageFile));
+    }
+
+    @Test
+    void readUploads_WhenSeveralFilesGiven_ExpectedUploadsInFileOrder() {
+        List<ImageUpload> uploads = imageIngestService.readUploads(
+                new MockMultipartFile("files", "first.png", MediaType.IMAGE_PNG_VALUE, png),
+                new MockMultipartFile("files", "second.png", MediaType.IMAGE_PNG_VALUE, png),
+                new MockMultipartFile("files", "third.png", MediaType.IMAGE_PNG_VALUE, png)).getUploads();
+
+        assertEquals(List.of("first.png", "second.png", "third.png"), uploads.stream().map(ImageUpload::getName).toList());
+    }
+
+    @Test
+    void readUploads_WhenOneOfSeveralFilesIsNotAnImage_ExpectedNotAnImageFileExceptionAndMemoryReleased() {
+        MockMultipartFile imageFile = new MockMultipartFile("files", "image.png", MediaType.IMAGE_PNG_VALUE, png);
+        MockMultipartFile textFile = new MockMultipartFile("files", "text.txt", MediaType.TEXT_PLAIN_VALUE, "text".getBytes());
+
+        assertThrows(NotAnImageFileException.class, () -> imageIngestService.readUploads(imageFile, textFile));
+        assertDoesNotThrow(() -> imageIngestService.readUploads(imageFile, imageFile).close());
+    }
+
+    @Test
+    void readUploads_WhenMemoryLimitIsReached_ExpectedServiceBusyExceptionUntilUploadsAreClosed() {
+        ReflectionTestUtils.setField(imageIngestService, "imageMemoryLimit", new MemoryLimit(png.length, Duration.ZERO, "busy"));
+        MockMultipartFile imageFile = new MockMultipartFile("files", "image.png", MediaType.IMAGE_PNG_VALUE, png);
+
+        ImageUploads uploads = imageIngestService.readUploads(imageFile);
+        assertThrows(ServiceBusyException.class, () -> imageIngestService.readUploads(imageFile));
+        uploads.close();
+        assertDoesNotThrow(() -> imageIngestService.readUploads(imageFile).close());
+    }
+
+    @Test
+    void readUploads_WhenFileIsAnImage_ExpectedUploadedBytesRecordedByContentType() {
+        imageIngestService.readUploads(new MockMultipartFile("files", "image.png", MediaType.IMAGE_PNG_VALUE, png)).close();
+
+        DistributionSummary uploaded = meterRegistry.get("article.image.uploaded").tag("content.type", "image/png").summary();
+        assertEquals(1, uploaded.count());
+        assertEquals(png.length, uploaded.totalAmount());
+    }
+
+    @Test
+    void readUploads_WhenFormatIsNotAllowed_ExpectedReencodedWithHashOfUploadedFile() throws Exception {
+        ByteArrayOutputStream bmp = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4, 3, BufferedImage.TYPE_INT_RGB), "bmp", bmp);
+
+        ImageUpload upload = imageIngestService.readUploads(
+                new MockMultipartFile("files", "image.bmp", "image/bmp", bmp.toByteArray())).getUploads().get(0);
+
+        assertEquals("image/png", upload.getContentType());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bmp.toByteArray())),
+                upload.getHash());
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(upload.getContent()));
+        assertEquals(4, image.getWidth());
+        assertEquals(3, image.getHeight());
+    }
+
+    @Test
+    void readUploads_WhenFormatIsNotAllowed_ExpectedDecodedImageReleasedAfterReencoding() throws Exception {
+        MemoryLimit imageMemoryLimit = new MemoryLimit(DataSize.ofMegabytes(1).toBytes(), Duration.ZERO, "busy");
+        ReflectionTestUtils.setField(imageIngestService, "imageMemoryLimit", imageMemoryLimit);
+        ByteArrayOutputStream bmp = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB), "bmp", bmp);
+
+        ImageUploads uploads = imageIngestService.readUploads(
+                new MockMultipartFile("files", "image.bmp", "image/bmp", bmp.toByteArray()));
+
+        assertEquals(DataSize.ofMegabytes(1).toBytes() - bmp.size(), imageMemoryLimit.availableBytes());
+        uploads.close();
+        assertEquals(DataSize.ofMegabytes(1).toBytes(), imageMemoryLimit.availableBytes());
+    }
+
+    @Test
+    void normalize_WhenDecodedImageExceedsMemoryLimit_ExpectedImageTooLargeException() throws Exception {
+        ReflectionTestUtils.setField(imageIngestService, "imageMemoryLimit", new MemoryLimit(1024, Duration.ZERO, "busy"));
+        ByteArrayOutputStream bmp = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB), "bmp", bmp);
+
+        assertThrows(ImageTooLargeException.class, () -> imageIngestService.normalize(
+                new ImageUpload("image.bmp", bmp.toByteArray(), "image/bmp", "hash", 100, 100)));
+    }
+
+    @Test
+    void normalize_WhenFormatIsAllowed_ExpectedContentStoredAsItIs() {
+        ImageUpload upload = new ImageUpload("image.png", png, "image/png", "hash", 1, 1);
+
+        ImageContent imageContent = imageIngestService.normalize(upload);
+
+        assertSame(png, imageContent.getContent());
+        assertEquals("image/png", imageContent.getContentType());
+    }
+
+    @Test
+    void normalize_WhenFormatIsNotAllowed_ExpectedReencodedToPng() throws Exception {
+        ByteArrayOutputStream bmp = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4, 3, BufferedImage.TYPE_INT_RGB), "bmp", bmp);
+        ImageUpload upload = new ImageUpload("image.bmp", bmp.toByteArray(), "image/bmp", "hash", 4, 3);
+
+        ImageContent imageContent = imageIngestService.normalize(upload);
+
+        assertEquals("image/png", imageContent.getContentType());
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageContent.getContent()));
+        assertEquals(4, image.getWidth());
+        assertEquals(3, image.getHeight());
+    }
+
+    @Test
+    void normalize_WhenFormatIsNotAllowed_ExpectedDecodeTimeRecorded() throws Exception {
+        ByteArrayOutputStream bmp = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4, 3, BufferedImage.TYPE_INT_RGB), "bmp", bmp);
+
+        imageIngestService.normalize(new ImageUpload("image.bmp", bmp.toByteArray(), "image/bmp", "hash", 4, 3));
+
+        assertEquals(1, meterRegistry.get("article.image.decode")
+                .tags("operation", "reencode", "content.type", "image/bmp").timer().count());
+    }
+}
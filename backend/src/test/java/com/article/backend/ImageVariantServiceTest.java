@@ -0,0 +1,189 @@
+package com.article.backend;
+
+import com.article.backend.model.ArticleImageMetadata;
+import com.article.backend.model.ImageBlob;
+import com.article.backend.model.ImageVariant;
+import com.article.backend.model.ImageVariantMetadata;
+import com.article.backend.repository.ImageBlobRepository;
+import com.article.backend.repository.ImageVariantRepository;
+import com.article.backend.service.impl.ImageVariantServiceImpl;
+import com.article.backend.service.metrics.ImageMetrics;
+import com.article.backend.service.storage.ImageStorage;
+import com.article.backend.util.Bulkhead;
+import com.article.backend.util.MemoryLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageVariantServiceTest {
+
+    @Mock
+    private ImageVariantRepository repository;
+
+    @Mock
+    private ImageBlobRepository imageBlobRepository;
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    @InjectMocks
+    private ImageVariantServiceImpl imageVariantService;
+
+    private MemoryLimit imageMemoryLimit;
+
+    @BeforeEach
+    public void init() {
+        ReflectionTestUtils.setField(imageVariantService, "widths", List.of(160, 480, 1080));
+        ReflectionTestUtils.setField(imageVariantService, "executor", new SyncTaskExecutor());
+        ReflectionTestUtils.setField(imageVariantService, "imageMetrics", new ImageMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(imageVariantService, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(imageVariantService, "imageBulkhead", new Bulkhead(1, Duration.ZERO, "busy"));
+        imageMemoryLimit = new MemoryLimit(DataSize.ofMegabytes(16).toBytes(), Duration.ZERO, "busy");
+        ReflectionTestUtils.setField(imageVariantService, "imageMemoryLimit", imageMemoryLimit);
+    }
+
+    @Test
+    void getBestVariant_WhenVariantsAreReady_ExpectedSmallestVariantNotNarrowerThanRequested() {
+        ArticleImageMetadata image = imageMetadata(2000);
+        List<ImageVariantMetadata> variants = List.of(variantMetadata(160), variantMetadata(480), variantMetadata(1080));
+        when(repository.findMetadataByBlobId(1L)).thenReturn(variants);
+
+        assertSame(variants.get(0), imageVariantService.getBestVariant(image, 100));
+        assertSame(variants.get(1), imageVariantService.getBestVariant(image, 161));
+        assertNull(imageVariantService.getBestVariant(image, 1200));
+        verify(imageBlobRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getBestVariant_WhenRequestedWidthIsNotSmallerThanOriginal_ExpectedOriginal() {
+        assertNull(imageVariantService.getBestVariant(imageMetadata(400), 400));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void getBestVariant_WhenVariantsAreMissing_ExpectedOriginalAndGenerationStarted() {
+        when(repository.findMetadataByBlobId(1L)).thenReturn(List.of());
+        when(imageBlobRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertNull(imageVariantService.getBestVariant(imageMetadata(2000), 160));
+        verify(imageBlobRepository).findById(1L);
+    }
+
+    @Test
+    void getBestVariant_WhenVariantsFailed_ExpectedOriginalWithoutGeneration() {
+        ArticleImageMetadata image = imageMetadata(2000);
+        when(image.isVariantsFailed()).thenReturn(true);
+
+        assertNull(imageVariantService.getBestVariant(image, 160));
+        verifyNoInteractions(repository, imageBlobRepository);
+    }
+
+    @Test
+    void generateVariants_ExpectedConfiguredWidthsNarrowerThanOriginal() throws Exception {
+        ByteArrayOutputStream original = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB), "png", original);
+        ImageBlob blob = new ImageBlob();
+        blob.setId(1L);
+        blob.setContentType("image/png");
+        blob.setSize((long) original.size());
+        blob.setWidth(1000);
+        when(imageBlobRepository.findById(1L)).thenReturn(Optional.of(blob));
+        when(repository.findWidthsByBlobId(1L)).thenReturn(Set.of());
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write(original.toByteArray());
+            return null;
+        }).when(imageStorage).copy(eq(blob), eq(0L), eq((long) original.size()), any(OutputStream.class));
+        when(imageBlobRepository.save(any(ImageBlob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        imageVariantService.generateVariants(1L);
+
+        ArgumentCaptor<ImageVariant> variants = ArgumentCaptor.forClass(ImageVariant.class);
+        verify(repository, times(2)).save(variants.capture());
+        assertEquals(List.of(160, 480), variants.getAllValues().stream().map(ImageVariant::getWidth).toList());
+        assertEquals(List.of(80, 240), variants.getAllValues().stream().map(variant -> variant.getVariantBlob().getHeight()).toList());
+        verify(imageStorage, times(2)).write(any(ImageBlob.class), any(byte[].class));
+        assertEquals(DataSize.ofMegabytes(16).toBytes(), imageMemoryLimit.availableBytes());
+    }
+
+    @Test
+    void generateVariants_WhenOriginalCannotBeDecoded_ExpectedVariantsFailedMarked() {
+        storedBlob("not an image".getBytes());
+
+        imageVariantService.generateVariants(1L);
+
+        verify(imageBlobRepository).markVariantsFailed(1L);
+        verify(repository, never()).save(any(ImageVariant.class));
+    }
+
+    @Test
+    void generateVariants_WhenDecodedImageExceedsMemoryLimit_ExpectedNotDecoded() throws Exception {
+        storedBlob(png(4000, 2000));
+
+        imageVariantService.generateVariants(1L);
+
+        verify(imageBlobRepository, never()).markVariantsFailed(anyLong());
+        verify(repository, never()).save(any(ImageVariant.class));
+        assertEquals(DataSize.ofMegabytes(16).toBytes(), imageMemoryLimit.availableBytes());
+    }
+
+    private ImageBlob storedBlob(byte[] content) {
+        ImageBlob blob = new ImageBlob();
+        blob.setId(1L);
+        blob.setContentType("image/png");
+        blob.setSize((long) content.length);
+        when(imageBlobRepository.findById(1L)).thenReturn(Optional.of(blob));
+        when(repository.findWidthsByBlobId(1L)).thenReturn(Set.of());
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write(content);
+            return null;
+        }).when(imageStorage).copy(eq(blob), eq(0L), eq((long) content.length), any(OutputStream.class));
+        return blob;
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", content);
+        return content.toByteArray();
+    }
+
+    private ArticleImageMetadata imageMetadata(int width) {
+        ArticleImageMetadata metadata = mock(ArticleImageMetadata.class, withSettings().strictness(Strictness.LENIENT));
+        when(metadata.getBlobId()).thenReturn(1L);
+        when(metadata.getWidth()).thenReturn(width);
+        return metadata;
+    }
+
+    private ImageVariantMetadata variantMetadata(int width) {
+        ImageVariantMetadata metadata = mock(ImageVariantMetadata.class);
+        when(metadata.getWidth()).thenReturn(width);
+        return metadata;
+    }
+}
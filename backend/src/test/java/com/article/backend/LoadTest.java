@@ -0,0 +1,283 @@
+package com.article.backend;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// starts the application on an in-memory h2 database in mysql mode, migrated and filled by liquibase, and drives a mix
+// of reads, searches, tag writes and image uploads from concurrent clients against it:
+// mvn test -Dtest=LoadTest -Dload-test=true -Dload-test.clients=100 -Dload-test.duration=PT1M
+// -Dload-test.mix=all-approved:50,search:30,tag-write:20 -Dload-test.articles=10000
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+@SpringBootTest(classes = BackendApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.docker.compose.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:load-test;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.url=jdbc:h2:mem:load-test;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.liquibase.user=sa",
+        "spring.liquibase.password=",
+        "spring.liquibase.change-log=classpath:config/liquibase/load-test.xml",
+        "spring.liquibase.parameters.articleCount=${load-test.articles:1000}",
+        "spring.liquibase.parameters.tagCount=${load-test.tags:200}",
+        "spring.jpa.hibernate.ddl-auto=none"})
+class LoadTest {
+
+    private static final String DEFAULT_MIX =
+            "all-approved:30,approved-article:25,search:20,tag-suggest:5,editor-list:5,tag-write:10,image-upload:5";
+    private static final String[] CATEGORIES = {"POLITICS", "TRAVEL", "SPORT", "TECHNOLOGY"};
+    private static final int IMAGE_COUNT = 16;
+
+    private static final String USER = authorization("user");
+    private static final String JOURNALIST = authorization("journalist");
+    private static final String EDITOR = authorization("editor");
+
+    private static final List<byte[]> images = new ArrayList<>();
+
+    // new tags are unique, a duplicate would be rejected with 409
+    private static final AtomicLong tagSequence = new AtomicLong();
+
+    @LocalServerPort
+    private int port;
+
+    private final int articleCount = Integer.getInteger("load-test.articles", 1000);
+    private final int tagCount = Integer.getInteger("load-test.tags", 200);
+
+    // the requests of the mix, every client picks the next one at random by the weights
+    private final Map<String, Endpoint> endpoints = Map.of(
+            "all-approved", random -> get("/article/all-approved?limit=20", USER),
+            "approved-article", random -> get("/article/approved-article?id=" + articleId(random), USER),
+            "search", random -> get("/article/search?category=" + CATEGORIES[random.nextInt(CATEGORIES.length)] +
+                    "&tag=%23tag" + (random.nextInt(tagCount) + 1), USER),
+            "tag-suggest", random -> get("/tag/suggest?prefix=%23tag" + (random.nextInt(9) + 1), JOURNALIST),
+            "editor-list", random -> get("/article/all?status=AWAITING_APPROVAL&limit=20", EDITOR),
+            "tag-write", random -> post("/tag?articleId=" + articleId(random) + "&tag=%23load" + tagSequence.incrementAndGet(),
+                    HttpRequest.BodyPublishers.noBody(), null, JOURNALIST),
+            "image-upload", random -> imageUpload(articleId(random), images.get(random.nextInt(images.size()))));
+
+    @BeforeAll
+    static void createImages() throws IOException {
+        Random random = new Random(42);
+        for (int i = 0; i < IMAGE_COUNT; i++) {
+            BufferedImage image = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+            for (int y = 0; y < image.getHeight(); y++) {
+                for (int x = 0; x < image.getWidth(); x++) {
+                    image.setRGB(x, y, random.nextInt(0x1000000));
+                }
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", output);
+            images.add(output.toByteArray());
+        }
+    }
+
+    @Test
+    void mix_WhenRunConcurrently_ExpectedThroughputAndLatencyPercentilesReported() throws Exception {
+        int clients = Integer.getInteger("load-test.clients", 50);
+        Duration warmup = Duration.parse(System.getProperty("load-test.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("load-test.duration", "PT30S"));
+        Map<String, Integer> mix = parseMix(System.getProperty("load-test.mix", DEFAULT_MIX));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        run(client, mix, clients, warmup);
+        Map<String, Result> results = run(client, mix, clients, duration);
+
+        System.out.printf("%-18s %10s %8s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "503", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms");
+        Result total = new Result();
+        results.forEach((name, result) -> {
+            print(name, result, duration);
+            total.add(result);
+        });
+        print("total", total, duration);
+
+        results.forEach((name, result) -> {
+            assertTrue(result.count > 0, name + " was never answered successfully.");
+            assertEquals(0, result.errors, name + " failed " + result.errors + " times.");
+        });
+    }
+
+    private Map<String, Result> run(HttpClient client, Map<String, Integer> mix, int clients, Duration duration)
+            throws Exception {
+        List<String> names = new ArrayList<>(mix.keySet());
+        int[] cumulativeWeights = new int[names.size()];
+        int weightSum = 0;
+        for (int i = 0; i < names.size(); i++) {
+            weightSum += mix.get(names.get(i));
+            cumulativeWeights[i] = weightSum;
+        }
+        int totalWeight = weightSum;
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<List<Result>>> workers = new ArrayList<>();
+            for (int worker = 0; worker < clients; worker++) {
+                workers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    List<Result> results = names.stream().map(name -> new Result()).toList();
+                    while (System.nanoTime() < deadline) {
+                        int index = Arrays.binarySearch(cumulativeWeights, random.nextInt(totalWeight) + 1);
+                        index = index >= 0 ? index : -index - 1;
+                        send(client, endpoints.get(names.get(index)).request(random), results.get(index));
+                    }
+                    return results;
+                }));
+            }
+            Map<String, Result> merged = new LinkedHashMap<>();
+            names.forEach(name -> merged.put(name, new Result()));
+            for (Future<List<Result>> worker : workers) {
+                List<Result> results = worker.get();
+                for (int i = 0; i < names.size(); i++) {
+                    merged.get(names.get(i)).add(results.get(i));
+                }
+            }
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void send(HttpClient client, HttpRequest request, Result result) {
+        long start = System.nanoTime();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status < 400) {
+                result.record(System.nanoTime() - start);
+            } else if (status == 503) {
+                result.rejected++;
+            } else {
+                result.errors++;
+            }
+        } catch (Exception e) {
+            result.errors++;
+        }
+    }
+
+    private void print(String name, Result result, Duration duration) {
+        long[] latencies = Arrays.copyOf(result.latencies, result.count);
+        Arrays.sort(latencies);
+        System.out.printf("%-18s %10d %8d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", name, latencies.length,
+                result.errors, result.rejected, latencies.length / (double) duration.toSeconds(),
+                percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99),
+                percentile(latencies, 0.999));
+    }
+
+    private Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.trim().split(":");
+            if (!endpoints.containsKey(nameAndWeight[0])) {
+                throw new IllegalArgumentException("Unknown endpoint " + nameAndWeight[0] + ", the known ones are " +
+                        endpoints.keySet() + ".");
+            }
+            int weight = Integer.parseInt(nameAndWeight[1]);
+            if (weight > 0) {
+                weights.put(nameAndWeight[0], weight);
+            }
+        }
+        return weights;
+    }
+
+    private long articleId(Random random) {
+        return random.nextInt(articleCount) + 1;
+    }
+
+    private HttpRequest get(String path, String authorization) {
+        return request(path, authorization).GET().build();
+    }
+
+    private HttpRequest post(String path, HttpRequest.BodyPublisher body, String contentType, String authorization) {
+        HttpRequest.Builder request = request(path, authorization).POST(body);
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+        return request.build();
+    }
+
+    private HttpRequest imageUpload(long articleId, byte[] image) {
+        String boundary = "load-test-" + System.nanoTime();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"image.png\"\r\n" +
+                "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(image);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return post("/image?articleId=" + articleId, HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()),
+                "multipart/form-data; boundary=" + boundary, JOURNALIST);
+    }
+
+    private HttpRequest.Builder request(String path, String authorization) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", authorization);
+    }
+
+    private static String authorization(String username) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":password").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private interface Endpoint {
+        HttpRequest request(Random random);
+    }
+
+    // the latencies of one client are kept in a growing array, a list of boxed longs would dominate the heap
+    private static class Result {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long rejected;
+
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+
+        private void add(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i]);
+            }
+            errors += other.errors;
+            rejected += other.rejected;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.article.backend;
+
+import com.article.backend.model.ArticleImageMetadata;
+import com.article.backend.model.ImageBlob;
+import com.article.backend.service.storage.LocalFileImageStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalFileImageStorageTest {
+
+    private static final byte[] IMAGE = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    private Path directory;
+
+    private LocalFileImageStorage storage;
+
+    @BeforeEach
+    public void init() {
+        storage = new LocalFileImageStorage(directory);
+    }
+
+    @Test
+    void write_StoresFileUnderStorageKey() throws Exception {
+        ImageBlob blob = new ImageBlob();
+
+        storage.write(blob, IMAGE);
+
+        assertNotNull(blob.getStorageKey());
+        Path file = storage.getFile(metadata(blob.getStorageKey()));
+        assertTrue(file.startsWith(directory));
+        assertArrayEquals(IMAGE, Files.readAllBytes(file));
+        try (var files = Files.walk(directory)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void copy_WritesRequestedRange() {
+        ImageBlob blob = new ImageBlob();
+        storage.write(blob, IMAGE);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        storage.copy(metadata(blob.getStorageKey()), 2, 5, outputStream);
+
+        assertEquals("23456", outputStream.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void delete_OutsideTransaction_RemovesFile() {
+        ImageBlob blob = new ImageBlob();
+        storage.write(blob, IMAGE);
+        Path file = storage.getFile(metadata(blob.getStorageKey()));
+
+        storage.delete(blob);
+
+        assertFalse(Files.exists(file));
+    }
+
+    private ArticleImageMetadata metadata(String storageKey) {
+        ArticleImageMetadata metadata = mock(ArticleImageMetadata.class);
+        when(metadata.getStorageKey()).thenReturn(storageKey);
+        return metadata;
+    }
+}
@@ -0,0 +1,78 @@
+package com.article.backend;
+
+import com.article.backend.model.Article;
+import com.article.backend.model.enums.ArticleStatus;
+import com.article.backend.service.ArticleService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// the replica is the database of the primary, the reads are routed to it but it never lags here
+@SpringBootTest(classes = BackendApplication.class, properties = {
+        "spring.docker.compose.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:replica-cache;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.url=jdbc:h2:mem:replica-cache;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.liquibase.user=sa",
+        "spring.liquibase.password=",
+        "spring.liquibase.change-log=classpath:config/liquibase/load-test.xml",
+        "spring.liquibase.parameters.articleCount=10",
+        "spring.liquibase.parameters.tagCount=5",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "article.datasource.replica.enabled=true",
+        "article.datasource.replica.urls=jdbc:h2:mem:replica-cache;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "article.datasource.replica.username=sa",
+        "article.datasource.replica.password="})
+class ReadReplicaCacheTest {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void init() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getArticleByIdAndStatus_WhenReadFromReplica_ExpectedNotPutIntoCache() {
+        articleService.getArticleByIdAndStatus(1L, ArticleStatus.APPROVED);
+        statistics.clear();
+        articleService.getArticleByIdAndStatus(1L, ArticleStatus.APPROVED);
+
+        assertFalse(entityManagerFactory.getCache().contains(Article.class, 1L));
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void getArticleByIdAndStatus_WhenReadFromPrimary_ExpectedCacheReadOnReplica() {
+        new TransactionTemplate(transactionManager)
+                .execute(status -> articleService.getArticleByIdAndStatus(1L, ArticleStatus.APPROVED));
+        statistics.clear();
+        articleService.getArticleByIdAndStatus(1L, ArticleStatus.APPROVED);
+
+        assertTrue(entityManagerFactory.getCache().contains(Article.class, 1L));
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+}
@@ -0,0 +1,244 @@
+package com.article.backend;
+
+import com.article.backend.config.ReadReplicaRoutingDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// the primary and the replicas are separate in-memory h2 databases, every one of them answers with its own name
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final Duration PIN = Duration.ofSeconds(5);
+
+    private final TestClock clock = new TestClock();
+
+    private String currentUser;
+
+    private JdbcDataSource primary;
+
+    @BeforeEach
+    public void init() {
+        primary = database("primary");
+        currentUser = null;
+    }
+
+    @Test
+    void read_WhenReadOnlyTransaction_ExpectedReplicaUsed() {
+        Routing routing = routing(List.of(database("replica")), true);
+
+        assertEquals("replica", routing.readOnly());
+    }
+
+    @Test
+    void read_WhenReadWriteTransaction_ExpectedPrimaryUsed() {
+        Routing routing = routing(List.of(database("replica")), true);
+
+        assertEquals("primary", routing.readWrite());
+    }
+
+    @Test
+    void read_WhenMoreReplicas_ExpectedRoundRobin() {
+        Routing routing = routing(List.of(database("replica-1"), database("replica-2")), true);
+
+        assertEquals(List.of("replica-1", "replica-2", "replica-1"),
+                List.of(routing.readOnly(), routing.readOnly(), routing.readOnly()));
+    }
+
+    @Test
+    void read_WhenReplicaUnavailable_ExpectedOtherReplicaUsedUntilBackoffEnds() {
+        JdbcDataSource replica = database("replica-1");
+        Routing routing = routing(List.of(replica, database("replica-2")), true);
+        replica.setURL("jdbc:h2:mem:missing-replica;IFEXISTS=TRUE");
+
+        assertEquals(List.of("replica-2", "replica-2", "replica-2"),
+                List.of(routing.readOnly(), routing.readOnly(), routing.readOnly()));
+
+        replica.setURL("jdbc:h2:mem:replica-1;DB_CLOSE_DELAY=-1");
+        assertEquals(List.of("replica-2", "replica-2"), List.of(routing.readOnly(), routing.readOnly()));
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(Set.of("replica-1", "replica-2"), new HashSet<>(List.of(routing.readOnly(), routing.readOnly())));
+    }
+
+    @Test
+    void read_WhenEveryReplicaUnavailableAndFallbackEnabled_ExpectedPrimaryUsed() {
+        Routing routing = routing(List.of(unavailableDatabase()), true);
+
+        assertEquals("primary", routing.readOnly());
+    }
+
+    @Test
+    void read_WhenEveryReplicaUnavailableAndFallbackDisabled_ExpectedException() {
+        Routing routing = routing(List.of(unavailableDatabase()), false);
+
+        assertThrows(DataAccessException.class, routing::readOnly);
+    }
+
+    @Test
+    void read_WhenUserWroteRecently_ExpectedPrimaryUsedUntilPinExpires() {
+        Routing routing = routing(List.of(database("replica")), true);
+        currentUser = "journalist";
+        routing.write();
+
+        assertEquals("primary", routing.readOnly());
+        currentUser = "user";
+        assertEquals("replica", routing.readOnly());
+
+        currentUser = "journalist";
+        clock.advance(PIN);
+        assertEquals("replica", routing.readOnly());
+    }
+
+    @Test
+    void read_WhenWriteRolledBack_ExpectedReplicaUsed() {
+        Routing routing = routing(List.of(database("replica")), true);
+        currentUser = "journalist";
+        routing.readWriteTransaction.executeWithoutResult(status -> {
+            routing.jdbcTemplate.update("UPDATE source SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", routing.readOnly());
+    }
+
+    @Test
+    void read_WhenAfterCommitOfWriteWithoutUser_ExpectedPrimaryUsed() {
+        Routing routing = routing(List.of(database("replica")), true);
+        String[] readAfterCommit = new String[1];
+        routing.readWriteTransaction.executeWithoutResult(status -> {
+            routing.jdbcTemplate.update("UPDATE source SET name = name");
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readAfterCommit[0] = routing.readOnly();
+                }
+            });
+        });
+
+        assertEquals("primary", readAfterCommit[0]);
+        assertEquals("replica", routing.readOnly());
+    }
+
+    @Test
+    void readsFromReplica_WhenUserWroteRecently_ExpectedFalseUntilPinExpires() {
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(primary,
+                List.of(database("replica")), true, Duration.ofSeconds(30), PIN, () -> currentUser, clock);
+        currentUser = "journalist";
+        new Routing(new LazyConnectionDataSourceProxy(routingDataSource)).write();
+
+        assertFalse(routingDataSource.readsFromReplica(true));
+        assertFalse(routingDataSource.readsFromReplica(false));
+        currentUser = "user";
+        assertTrue(routingDataSource.readsFromReplica(true));
+
+        currentUser = "journalist";
+        clock.advance(PIN);
+        assertTrue(routingDataSource.readsFromReplica(true));
+    }
+
+    @Test
+    void getConnection_WhenCredentialsGiven_ExpectedPrimaryUsed() throws SQLException {
+        DataSource dataSource = new ReadReplicaRoutingDataSource(primary, List.of(database("replica")), true,
+                Duration.ofSeconds(30), PIN, () -> currentUser, clock);
+
+        try (Connection connection = dataSource.getConnection("", "");
+             ResultSet resultSet = connection.createStatement().executeQuery("SELECT name FROM source")) {
+            resultSet.next();
+            assertEquals("primary", resultSet.getString(1));
+        }
+    }
+
+    private Routing routing(List<DataSource> replicas, boolean fallbackToPrimary) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replicas,
+                fallbackToPrimary, Duration.ofSeconds(30), PIN, () -> currentUser, clock));
+        return new Routing(dataSource);
+    }
+
+    private static JdbcDataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(dataSource).execute("CREATE TABLE IF NOT EXISTS source (name varchar(20))");
+        new JdbcTemplate(dataSource).execute("DELETE FROM source");
+        new JdbcTemplate(dataSource).update("INSERT INTO source (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static JdbcDataSource unavailableDatabase() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:missing-replica;IFEXISTS=TRUE");
+        return dataSource;
+    }
+
+    private static class Routing {
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate readOnlyTransaction;
+        private final TransactionTemplate readWriteTransaction;
+
+        private Routing(DataSource dataSource) {
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            readOnlyTransaction = new TransactionTemplate(transactionManager);
+            readOnlyTransaction.setReadOnly(true);
+            readWriteTransaction = new TransactionTemplate(transactionManager);
+        }
+
+        private String readOnly() {
+            return readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM source", String.class));
+        }
+
+        private String readWrite() {
+            return readWriteTransaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM source", String.class));
+        }
+
+        private void write() {
+            readWriteTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE source SET name = name"));
+        }
+    }
+
+    private static class TestClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
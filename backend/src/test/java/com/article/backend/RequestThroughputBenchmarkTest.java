@@ -0,0 +1,131 @@
+package com.article.backend;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// closed loop load against a running instance, every client thread sends the next request when the previous one returns,
+// start the application once with spring.threads.virtual.enabled=false and once with true (java 21) and compare:
+// mvn test -Dtest=RequestThroughputBenchmarkTest -Dbenchmark.url=http://localhost:8081 -Dbenchmark.label=virtual
+@EnabledIfSystemProperty(named = "benchmark.url", matches = ".+")
+class RequestThroughputBenchmarkTest {
+
+    private static final String EDITOR_AUTHORIZATION = "Basic " +
+            Base64.getEncoder().encodeToString("editor:password".getBytes(StandardCharsets.UTF_8));
+
+    // the read endpoints hit by the editors and the public site, authorization null for the public ones
+    private static final List<Endpoint> ENDPOINTS = List.of(
+            new Endpoint("all-approved", "/article/all-approved?limit=20", null),
+            new Endpoint("approved-article", "/article/approved-article?id=1", null),
+            new Endpoint("search", "/article/search?category=SPORT", null),
+            new Endpoint("all", "/article/all?limit=20", EDITOR_AUTHORIZATION),
+            new Endpoint("tag-suggest", "/tag/suggest?prefix=%23", EDITOR_AUTHORIZATION));
+
+    @Test
+    void requests_WhenRunConcurrently_ExpectedThroughputAndLatencyReported() throws Exception {
+        String url = System.getProperty("benchmark.url");
+        String label = System.getProperty("benchmark.label", "default");
+        int concurrency = Integer.getInteger("benchmark.concurrency", 200);
+        Duration warmup = Duration.parse(System.getProperty("benchmark.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("benchmark.duration", "PT30S"));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        run(client, url, concurrency, warmup);
+        List<Result> results = run(client, url, concurrency, duration);
+
+        System.out.printf("%-10s %-18s %10s %8s %8s %10s %10s %10s%n",
+                "mode", "endpoint", "requests", "errors", "503", "req/s", "p50 ms", "p99 ms");
+        for (int i = 0; i < ENDPOINTS.size(); i++) {
+            Result result = results.get(i);
+            long[] latencies = result.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%-10s %-18s %10d %8d %8d %10.1f %10.2f %10.2f%n", label, ENDPOINTS.get(i).name,
+                    latencies.length, result.errors, result.rejected, latencies.length / (double) duration.toSeconds(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99));
+            assertTrue(latencies.length > 0, ENDPOINTS.get(i).name + " was never answered successfully.");
+        }
+    }
+
+    private List<Result> run(HttpClient client, String url, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<List<Result>>> workers = new ArrayList<>();
+            for (int worker = 0; worker < concurrency; worker++) {
+                int firstEndpoint = worker;
+                workers.add(executor.submit(() -> {
+                    List<Result> results = ENDPOINTS.stream().map(endpoint -> new Result()).toList();
+                    for (int i = firstEndpoint; System.nanoTime() < deadline; i++) {
+                        int index = i % ENDPOINTS.size();
+                        send(client, url, ENDPOINTS.get(index), results.get(index));
+                    }
+                    return results;
+                }));
+            }
+            List<Result> merged = ENDPOINTS.stream().map(endpoint -> new Result()).toList();
+            for (Future<List<Result>> worker : workers) {
+                List<Result> results = worker.get();
+                for (int i = 0; i < merged.size(); i++) {
+                    merged.get(i).latencies.addAll(results.get(i).latencies);
+                    merged.get(i).errors += results.get(i).errors;
+                    merged.get(i).rejected += results.get(i).rejected;
+                }
+            }
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void send(HttpClient client, String url, Endpoint endpoint, Result result) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url + endpoint.path))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        if (endpoint.authorization != null) {
+            request.header("Authorization", endpoint.authorization);
+        }
+        long start = System.nanoTime();
+        try {
+            int status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status < 400) {
+                result.latencies.add(System.nanoTime() - start);
+            } else if (status == 503) {
+                result.rejected++;
+            } else {
+                result.errors++;
+            }
+        } catch (Exception e) {
+            result.errors++;
+        }
+    }
+
+    private double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Endpoint(String name, String path, String authorization) {
+    }
+
+    private static class Result {
+        private final List<Long> latencies = new ArrayList<>();
+        private long errors;
+        private long rejected;
+    }
+}
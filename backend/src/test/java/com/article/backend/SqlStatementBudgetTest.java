@@ -0,0 +1,137 @@
+package com.article.backend;
+
+import com.article.backend.util.SqlStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the statements executed by the hot endpoints on an in-memory h2 database in mysql mode, filled by liquibase with
+// 100 articles, nine of ten approved, with three tags each, an N+1 query makes the count grow with the rows
+@SpringBootTest(classes = BackendApplication.class, properties = {
+        "spring.docker.compose.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:sql-budget;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.liquibase.url=jdbc:h2:mem:sql-budget;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.liquibase.user=sa",
+        "spring.liquibase.password=",
+        "spring.liquibase.change-log=classpath:config/liquibase/load-test.xml",
+        "spring.liquibase.parameters.articleCount=100",
+        "spring.liquibase.parameters.tagCount=20",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureMockMvc
+class SqlStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void listApprovedArticles_WhenHundredArticlesListed_ExpectedAtMostThreeStatements() throws Exception {
+        MvcResult result = mockMvc.perform(get("/article/all-approved")
+                        .param("limit", "100")
+                        .with(httpBasic("user", "password")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(90))
+                .andReturn();
+
+        SqlStatistics statistics = statistics(result);
+        assertTrue(statistics.getStatementCount() <= 3, statistics.getStatementCount() + " statements were executed.");
+        assertEquals(180, statistics.getRowCount());
+    }
+
+    @Test
+    void listArticles_WhenHundredArticlesListed_ExpectedOneStatement() throws Exception {
+        MvcResult result = mockMvc.perform(get("/article/all")
+                        .param("limit", "100")
+                        .with(httpBasic("editor", "password")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(100))
+                .andReturn();
+
+        assertEquals(1, statistics(result).getStatementCount());
+    }
+
+    @Test
+    void getApprovedArticle_WhenArticleHasTags_ExpectedAtMostThreeStatements() throws Exception {
+        MvcResult result = mockMvc.perform(get("/article/approved-article")
+                        .param("id", "1")
+                        .with(httpBasic("user", "password")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags.length()").value(3))
+                .andReturn();
+
+        SqlStatistics statistics = statistics(result);
+        assertTrue(statistics.getStatementCount() <= 3, statistics.getStatementCount() + " statements were executed.");
+    }
+
+    @Test
+    void search_WhenCategoryGiven_ExpectedNoStatementRepeatedPerRow() throws Exception {
+        MvcResult result = mockMvc.perform(get("/article/search")
+                        .param("category", "SPORT")
+                        .with(httpBasic("user", "password")))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        SqlStatistics statistics = statistics(result);
+        assertTrue(statistics.getStatementCount() <= 2, statistics.getStatementCount() + " statements were executed.");
+        assertEquals(1, statistics.getMostRepeatedStatement().getValue());
+    }
+
+    // the tag of every listed article is the requested one, its id and text read from the same article_tag row
+    @Test
+    void search_WhenTagGiven_ExpectedNoStatementRepeatedPerRowAndRequestedTagOfEveryArticle() throws Exception {
+        MvcResult result = mockMvc.perform(get("/article/search")
+                        .param("tag", "#tag3")
+                        .param("fields", "id", "tag")
+                        .with(httpBasic("user", "password")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[*].tag.tag", everyItem(is("#tag3"))))
+                .andExpect(jsonPath("$[*].tag.id", everyItem(notNullValue())))
+                .andReturn();
+
+        SqlStatistics statistics = statistics(result);
+        assertTrue(statistics.getStatementCount() <= 2, statistics.getStatementCount() + " statements were executed.");
+        assertEquals(1, statistics.getMostRepeatedStatement().getValue());
+    }
+
+    // the application runs with @EnableWebMvc, the timeout comes from config/WebConfig and not from spring boot
+    @Test
+    void exportArticles_WhenStarted_ExpectedAsyncRequestTimeoutFromProperties() throws Exception {
+        MvcResult result = mockMvc.perform(get("/article/all")
+                        .accept("application/x-ndjson")
+                        .with(httpBasic("editor", "password")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+        String export = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(100, export.lines().count());
+    }
+
+    private SqlStatistics statistics(MvcResult result) {
+        return (SqlStatistics) result.getRequest().getAttribute(SqlStatistics.REQUEST_ATTRIBUTE);
+    }
+}
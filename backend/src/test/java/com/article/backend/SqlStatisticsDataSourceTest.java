@@ -0,0 +1,97 @@
+package com.article.backend;
+
+import com.article.backend.config.SqlStatisticsDataSource;
+import com.article.backend.util.SqlStatistics;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SqlStatisticsDataSourceTest {
+
+    private static final String SELECT_BY_ID = "SELECT id FROM item WHERE id = ?";
+
+    private SqlStatisticsDataSource dataSource;
+
+    private Connection connection;
+
+    @BeforeEach
+    public void init() throws SQLException {
+        JdbcDataSource targetDataSource = new JdbcDataSource();
+        targetDataSource.setURL("jdbc:h2:mem:sql-statistics;DB_CLOSE_DELAY=-1");
+        dataSource = new SqlStatisticsDataSource(targetDataSource);
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS item (id int PRIMARY KEY)");
+            statement.execute("MERGE INTO item KEY (id) SELECT x FROM SYSTEM_RANGE(1, 5)");
+        }
+    }
+
+    @AfterEach
+    public void close() throws SQLException {
+        SqlStatistics.stop();
+        connection.close();
+    }
+
+    @Test
+    void executeQuery_WhenStatisticsStarted_ExpectedStatementAndRowsCounted() throws SQLException {
+        SqlStatistics statistics = SqlStatistics.start();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id FROM item")) {
+            while (resultSet.next()) {
+                resultSet.getInt(1);
+            }
+        }
+
+        assertEquals(1, statistics.getStatementCount());
+        assertEquals(5, statistics.getRowCount());
+    }
+
+    @Test
+    void executeQuery_WhenSamePreparedStatementRunPerRow_ExpectedMostRepeatedStatement() throws SQLException {
+        SqlStatistics statistics = SqlStatistics.start();
+
+        for (int id = 1; id <= 5; id++) {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_BY_ID)) {
+                statement.setInt(1, id);
+                statement.executeQuery().close();
+            }
+        }
+
+        assertEquals(5, statistics.getStatementCount());
+        assertEquals(SELECT_BY_ID, statistics.getMostRepeatedStatement().getKey());
+        assertEquals(5, statistics.getMostRepeatedStatement().getValue());
+    }
+
+    @Test
+    void executeUpdate_WhenStatisticsStarted_ExpectedStatementCountedWithoutRows() throws SQLException {
+        SqlStatistics statistics = SqlStatistics.start();
+
+        try (PreparedStatement statement = connection.prepareStatement("UPDATE item SET id = id WHERE id < ?")) {
+            statement.setInt(1, 3);
+            statement.executeUpdate();
+        }
+
+        assertEquals(1, statistics.getStatementCount());
+        assertEquals(0, statistics.getRowCount());
+    }
+
+    @Test
+    void executeQuery_WhenStatisticsNotStarted_ExpectedNothingCounted() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT id FROM item").close();
+        }
+
+        assertNull(SqlStatistics.current());
+    }
+}
@@ -0,0 +1,125 @@
+package com.article.backend;
+
+import com.article.backend.controller.TagController;
+import com.article.backend.handler.CustomExceptionHandler;
+import com.article.backend.model.TagAssignmentResult;
+import com.article.backend.model.TagCount;
+import com.article.backend.model.enums.TagAssignmentOutcome;
+import com.article.backend.service.ArticleService;
+import com.article.backend.service.ArticleTagService;
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+
+@Import(TagController.class)
+@ContextConfiguration(classes = {ArticleTagService.class, ArticleService.class, CustomExceptionHandler.class})
+@WebMvcTest(controllers = TagController.class, excludeAutoConfiguration = {SecurityAutoConfiguration.class})
+@ExtendWith(MockitoExtension.class)
+class TagControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ArticleTagService articleTagService;
+
+    @MockBean
+    private ArticleService articleService;
+
+    @Test
+    void saveTags_WhenValidRequest_ExpectedOkAndOutcomePerArticleAndTag() throws Exception {
+        when(articleTagService.addTags(List.of(1L, 2L), List.of("#sport")))
+                .thenReturn(List.of(new TagAssignmentResult(1L, "#sport", 10L, TagAssignmentOutcome.ADDED),
+                        new TagAssignmentResult(2L, "#sport", 4L, TagAssignmentOutcome.DUPLICATE)));
+
+        String expectedContent = "[{\"articleId\":1,\"tag\":\"#sport\",\"id\":10,\"outcome\":\"ADDED\"}," +
+                "{\"articleId\":2,\"tag\":\"#sport\",\"id\":4,\"outcome\":\"DUPLICATE\"}]";
+
+        ResultActions response = mockMvc.perform(post("/tag/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"articleIds\":[1,2],\"tags\":[\"# sport\"]}"));
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().string(expectedContent));
+    }
+
+    @Test
+    void saveTags_WhenTagFormatIsIncorrect_ExpectedValidationExceptionWithBadRequestStatus() throws Exception {
+        ResultActions response = mockMvc.perform(post("/tag/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"articleIds\":[1],\"tags\":[\"#sport\",\"news\"]}"));
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ValidationException));
+        verify(articleTagService, never()).addTags(any(), any());
+    }
+
+    @Test
+    void saveTags_WhenTooManyPairsGiven_ExpectedValidationExceptionWithBadRequestStatus() throws Exception {
+        String articleIds = String.join(",", Collections.nCopies(501, "1"));
+        ResultActions response = mockMvc.perform(post("/tag/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"articleIds\":[" + articleIds + "],\"tags\":[\"#a\",\"#b\"]}"));
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ValidationException));
+    }
+
+    @Test
+    void saveTags_WhenTagsAreMissing_ExpectedBadRequest() throws Exception {
+        ResultActions response = mockMvc.perform(post("/tag/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"articleIds\":[1],\"tags\":[]}"));
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verify(articleTagService, never()).addTags(any(), any());
+    }
+
+    @Test
+    void suggestTags_WhenPrefixGiven_ExpectedOkAndMostUsedTags() throws Exception {
+        when(articleTagService.suggestTags("#sp", 10))
+                .thenReturn(List.of(new TagCount("#sport", 5L), new TagCount("#sportolo", 1L)));
+
+        String expectedContent = "[{\"tag\":\"#sport\",\"count\":5},{\"tag\":\"#sportolo\",\"count\":1}]";
+
+        ResultActions response = mockMvc.perform(get("/tag/suggest").param("prefix", "#sp"));
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().string(expectedContent));
+    }
+
+    @Test
+    void suggestTags_WhenPrefixIsBlank_ExpectedValidationExceptionWithBadRequestStatus() throws Exception {
+        ResultActions response = mockMvc.perform(get("/tag/suggest").param("prefix", " "));
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ValidationException));
+        verify(articleTagService, never()).suggestTags(any(), anyInt());
+    }
+
+    @Test
+    void suggestTags_WhenLimitTooLarge_ExpectedValidationExceptionWithBadRequestStatus() throws Exception {
+        ResultActions response = mockMvc.perform(get("/tag/suggest").param("prefix", "#sp").param("limit", "51"));
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ValidationException));
+        verify(articleTagService, never()).suggestTags(any(), anyInt());
+    }
+}
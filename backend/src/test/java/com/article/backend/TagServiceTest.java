@@ -0,0 +1,62 @@
+package com.article.backend;
+
+import com.article.backend.model.Tag;
+import com.article.backend.repository.TagRepository;
+import com.article.backend.service.impl.TagServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagServiceTest {
+
+    @Mock
+    private TagRepository repository;
+
+    @InjectMocks
+    private TagServiceImpl tagService;
+
+    @Test
+    void getTag_WhenCalledTwice_ExpectedTagLoadedOnce() {
+        Tag tag = tag(1, "#sport");
+        when(repository.findByTag("#sport")).thenReturn(Optional.of(tag));
+
+        assertEquals(tag, tagService.getTag("#sport"));
+        assertEquals(tag, tagService.getTag("#sport"));
+        verify(repository, times(1)).findByTag("#sport");
+    }
+
+    @Test
+    void getTag_WhenTagUnknown_ExpectedNullAndNotCached() {
+        when(repository.findByTag("#nope")).thenReturn(Optional.empty());
+
+        assertNull(tagService.getTag("#nope"));
+        assertNull(tagService.getTag("#nope"));
+        verify(repository, times(2)).findByTag("#nope");
+    }
+
+    @Test
+    void getOrCreateTag_WhenOtherSpellingStored_ExpectedStoredTag() {
+        Tag tag = tag(1, "#sport");
+        when(repository.findLockedByTag("#Sport")).thenReturn(Optional.of(tag));
+
+        assertEquals(tag, tagService.getOrCreateTag("#Sport"));
+        assertEquals(tag, tagService.getOrCreateTag("#Sport"));
+        verify(repository, times(1)).insertIgnoringDuplicate("#Sport");
+    }
+
+    private Tag tag(Integer id, String name) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setTag(name);
+        return tag;
+    }
+}
@@ -0,0 +1,62 @@
+package com.article.backend;
+
+import com.article.backend.model.TagCount;
+import com.article.backend.model.TagsChangedEvent;
+import com.article.backend.repository.ArticleTagRepository;
+import com.article.backend.service.search.TagSuggestionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TagSuggestionIndexTest {
+
+    @Mock
+    private ArticleTagRepository repository;
+
+    @InjectMocks
+    private TagSuggestionIndex tagSuggestionIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.countArticlesByTag()).thenReturn(List.of(new TagCount("#sport", 3L),
+                new TagCount("#sportoló", 5L), new TagCount("#Spórt", 1L), new TagCount("#politika", 8L)));
+        tagSuggestionIndex.init();
+    }
+
+    @Test
+    void suggest_WhenPrefixGiven_ExpectedMatchingTagsMostUsedFirst() {
+        assertEquals(List.of(new TagCount("#sportoló", 5L), new TagCount("#sport", 3L), new TagCount("#Spórt", 1L)),
+                tagSuggestionIndex.suggest("#SPO", 10));
+    }
+
+    @Test
+    void suggest_WhenMoreTagsMatchThanLimit_ExpectedOnlyMostUsedTags() {
+        assertEquals(List.of(new TagCount("#sportoló", 5L), new TagCount("#sport", 3L)),
+                tagSuggestionIndex.suggest("#sp", 2));
+    }
+
+    @Test
+    void suggest_WhenNoTagMatches_ExpectedEmptyResult() {
+        assertTrue(tagSuggestionIndex.suggest("#zene", 10).isEmpty());
+    }
+
+    @Test
+    void onTagsChanged_WhenTagsAddedAndRemoved_ExpectedCountsUpdated() {
+        tagSuggestionIndex.onTagsChanged(TagsChangedEvent.added(List.of("#zene", "#zene", "#sport")));
+        tagSuggestionIndex.onTagsChanged(TagsChangedEvent.removed(List.of("#Spórt", "#sportoló")));
+
+        assertEquals(List.of(new TagCount("#sport", 4L), new TagCount("#sportoló", 4L)),
+                tagSuggestionIndex.suggest("#sp", 10));
+        assertEquals(List.of(new TagCount("#zene", 2L)), tagSuggestionIndex.suggest("#z", 10));
+    }
+}
@@ -0,0 +1,15 @@
+-- ${articleCount} articles, nine of ten approved, with three of the ${tagCount} tags each
+INSERT INTO tag (tag)
+SELECT CONCAT('#tag', x) FROM SYSTEM_RANGE(1, ${tagCount});
+
+INSERT INTO article (title, sub_title, category, content, status)
+SELECT CONCAT('Cikk ', x),
+	CONCAT('Alcím ', x),
+	CASE MOD(x, 4) WHEN 0 THEN 'POLITICS' WHEN 1 THEN 'TRAVEL' WHEN 2 THEN 'SPORT' ELSE 'TECHNOLOGY' END,
+	REPEAT(CONCAT('A cikk ', x, '. bekezdése. '), 100),
+	CASE WHEN MOD(x, 10) = 0 THEN 'AWAITING_APPROVAL' ELSE 'APPROVED' END
+FROM SYSTEM_RANGE(1, ${articleCount});
+
+INSERT INTO article_tag (article_id, tag_id)
+SELECT a.id, MOD(a.id * 7 + t.x, ${tagCount}) + 1
+FROM article a CROSS JOIN SYSTEM_RANGE(0, 2) t;
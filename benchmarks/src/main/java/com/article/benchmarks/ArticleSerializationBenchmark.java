@@ -0,0 +1,37 @@
+package com.article.benchmarks;
+
+import com.article.backend.model.Article;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// the body of GET /article, the images are listed by their metadata, their bytes are served by /image/{id}
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleSerializationBenchmark {
+
+    @Param({"0", "10"})
+    private int imageCount;
+
+    private ObjectMapper objectMapper;
+    private Article article;
+
+    @Setup
+    public void setUp() {
+        // configured the same way as the one of the application
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        article = BenchmarkData.article(1L, imageCount, 5);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(article);
+    }
+}
@@ -0,0 +1,81 @@
+package com.article.benchmarks;
+
+import com.article.backend.model.Article;
+import com.article.backend.model.ArticleImage;
+import com.article.backend.model.ArticleTag;
+import com.article.backend.model.ImageBlob;
+import com.article.backend.model.ImageVariant;
+import com.article.backend.model.Tag;
+import com.article.backend.model.enums.ArticleCategory;
+import com.article.backend.model.enums.ArticleStatus;
+import com.article.backend.service.specification.ArticleSpecifications;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.query.Query;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+// building the search query from the filters the way ArticleServiceImpl.buildSpecification does,
+// up to the hql translation of the criteria, without a database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleSpecificationBenchmark {
+
+    // only the status filter of the public search, or every filter together with the tag join
+    @Param({"status", "all"})
+    private String filters;
+
+    private SessionFactory sessionFactory;
+    private Session session;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Article.class)
+                .addAnnotatedClass(ArticleImage.class)
+                .addAnnotatedClass(ArticleTag.class)
+                .addAnnotatedClass(ImageBlob.class)
+                .addAnnotatedClass(ImageVariant.class)
+                .addAnnotatedClass(Tag.class)
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.MySQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .setProperty("hibernate.cache.use_second_level_cache", "false")
+                .buildSessionFactory();
+        session = sessionFactory.openSession();
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Query<Article> buildQuery() {
+        Specification<Article> spec = Specification.where(null);
+        if ("all".equals(filters)) {
+            spec = spec.and(ArticleSpecifications.hasTitle("Felújítják a villamosvonalakat"))
+                    .and(ArticleSpecifications.hasTag(42));
+        }
+        spec = spec.and(ArticleSpecifications.hasStatus(ArticleStatus.APPROVED));
+        if ("all".equals(filters)) {
+            spec = spec.and(ArticleSpecifications.hasCategory(ArticleCategory.SPORT));
+        }
+
+        CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+        CriteriaQuery<Article> query = criteriaBuilder.createQuery(Article.class);
+        Root<Article> root = query.from(Article.class);
+        query.where(spec.toPredicate(root, query, criteriaBuilder));
+        return session.createQuery(query);
+    }
+}
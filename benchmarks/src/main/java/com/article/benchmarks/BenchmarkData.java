@@ -0,0 +1,68 @@
+package com.article.benchmarks;
+
+import com.article.backend.model.Article;
+import com.article.backend.model.ArticleImage;
+import com.article.backend.model.ArticleTag;
+import com.article.backend.model.ImageBlob;
+import com.article.backend.model.enums.ArticleCategory;
+import com.article.backend.model.enums.ArticleStatus;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+// the same inputs for every run, generated from a fixed seed
+final class BenchmarkData {
+
+    private static final String PARAGRAPH = "A fővárosi közgyűlés csütörtökön döntött a villamosvonalak felújításáról, " +
+            "a munkák tavasszal kezdődnek és két évig tartanak. ";
+
+    private BenchmarkData() {}
+
+    static Article article(long id, int imageCount, int tagCount) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle("Felújítják a villamosvonalakat " + id);
+        article.setSubTitle("Két évig tartanak a munkák");
+        article.setContent(PARAGRAPH.repeat(40));
+        article.setCategory(ArticleCategory.SPORT);
+        article.setStatus(ArticleStatus.APPROVED);
+        for (int i = 0; i < tagCount; i++) {
+            ArticleTag tag = ArticleTag.of(id * 100 + i, "#tag" + i);
+            tag.setArticle(article);
+            article.getTags().add(tag);
+        }
+        for (int i = 0; i < imageCount; i++) {
+            ImageBlob blob = new ImageBlob();
+            blob.setId(id * 100 + i);
+            blob.setContentType("image/jpeg");
+            blob.setSize(250_000L);
+            ArticleImage image = ArticleImage.of(article, "image" + i + ".jpg", blob);
+            image.setId(id * 100 + i);
+            article.getImages().add(image);
+        }
+        return article;
+    }
+
+    // a gradient with noise, compresses about as well as a photo
+    static byte[] image(String format, int width, int height) {
+        Random random = new Random(42);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int red = (x * 255 / width + random.nextInt(32)) & 0xff;
+                int green = (y * 255 / height + random.nextInt(32)) & 0xff;
+                int blue = ((x + y) * 255 / (width + height) + random.nextInt(32)) & 0xff;
+                image.setRGB(x, y, (red << 16) | (green << 8) | blue);
+            }
+        }
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            ImageIO.write(image, format, output);
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.article.benchmarks;
+
+import com.article.backend.model.ImageContent;
+import com.article.backend.model.ImageUpload;
+import com.article.backend.model.ImageUploads;
+import com.article.backend.service.impl.ImageIngestServiceImpl;
+import com.article.backend.service.metrics.ImageMetrics;
+import com.article.backend.util.Bulkhead;
+import com.article.backend.util.MemoryLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// reading an upload: one pass hashing it, content type detection and the image header,
+// re-encoding: decoding and writing it as png, done for the formats that are not stored as they are
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageIngestBenchmark {
+
+    @Param({"png", "jpeg"})
+    private String format;
+
+    // 4:3 images, a thumbnail sized and a full hd sized one
+    @Param({"640", "1920"})
+    private int width;
+
+    private ImageIngestServiceImpl imageIngestService;
+    private ImageIngestServiceImpl reencodingImageIngestService;
+    private MockMultipartFile file;
+    private ImageUpload upload;
+
+    @Setup
+    public void setUp() {
+        imageIngestService = imageIngestService(Set.of("image/png", "image/jpeg", "image/gif"));
+        reencodingImageIngestService = imageIngestService(Set.of());
+        byte[] content = BenchmarkData.image(format, width, width * 3 / 4);
+        file = new MockMultipartFile("files", "image." + format, "image/" + format, content);
+        try (ImageUploads uploads = imageIngestService.readUploads(file)) {
+            upload = uploads.getUploads().get(0);
+        }
+    }
+
+    @Benchmark
+    public ImageUpload readUpload() {
+        try (ImageUploads uploads = imageIngestService.readUploads(file)) {
+            return uploads.getUploads().get(0);
+        }
+    }
+
+    @Benchmark
+    public ImageContent reencode() {
+        return reencodingImageIngestService.normalize(upload);
+    }
+
+    private ImageIngestServiceImpl imageIngestService(Set<String> allowedContentTypes) {
+        ImageIngestServiceImpl service = new ImageIngestServiceImpl();
+        ReflectionTestUtils.setField(service, "allowedContentTypes", allowedContentTypes);
+        ReflectionTestUtils.setField(service, "maxPixels", 40_000_000L);
+        ReflectionTestUtils.setField(service, "requestMemoryBudget", DataSize.ofMegabytes(64));
+        ReflectionTestUtils.setField(service, "imageMemoryLimit",
+                new MemoryLimit(DataSize.ofMegabytes(256).toBytes(), Duration.ofSeconds(5), "busy"));
+        ReflectionTestUtils.setField(service, "executor", Executors.newFixedThreadPool(4));
+        ReflectionTestUtils.setField(service, "imageBulkhead", new Bulkhead(4, Duration.ofSeconds(5), "busy"));
+        ReflectionTestUtils.setField(service, "imageMetrics", new ImageMetrics(new SimpleMeterRegistry()));
+        return service;
+    }
+}
@@ -0,0 +1,66 @@
+package com.article.benchmarks;
+
+import com.article.backend.model.ArticleTag;
+import com.article.backend.model.ReducedArticleResult;
+import com.article.backend.model.enums.ArticleCategory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// the result of GET /article/search for one page of rows: the rows mapped the way the repository maps them,
+// ReducedArticleResult by its constructor or a map of the requested fields, and written as json
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchResultBenchmark {
+
+    @Param({"20", "100"})
+    private int rowCount;
+
+    private ObjectMapper objectMapper;
+    private List<Object[]> rows;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        rows = new ArrayList<>(rowCount);
+        for (long id = 1; id <= rowCount; id++) {
+            rows.add(new Object[]{id, "Felújítják a villamosvonalakat " + id, "Két évig tartanak a munkák",
+                    ArticleCategory.SPORT, id * 10, "#kozlekedes"});
+        }
+    }
+
+    @Benchmark
+    public byte[] reducedArticleResults() throws JsonProcessingException {
+        List<ReducedArticleResult> results = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            results.add(new ReducedArticleResult((Long) row[0], (String) row[1], (String) row[2],
+                    (ArticleCategory) row[3], (Long) row[4], (String) row[5]));
+        }
+        return objectMapper.writeValueAsBytes(results);
+    }
+
+    // fields=id&fields=title&fields=tag
+    @Benchmark
+    public byte[] requestedFields() throws JsonProcessingException {
+        List<Map<String, Object>> results = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("id", row[0]);
+            result.put("title", row[1]);
+            result.put("tag", ArticleTag.of((Long) row[4], (String) row[5]));
+            results.add(result);
+        }
+        return objectMapper.writeValueAsBytes(results);
+    }
+}